@@ -0,0 +1,167 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+// Tracks convergence of a GA run from one 64-bit hash per individual instead of comparing
+// whole populations gene by gene. Each generation costs O(population) and keeps:
+//  - a population hash (ordered, like the List.equals check it replaces) to detect an
+//    unchanged population
+//  - diversity: fraction of distinct genomes in the population
+//  - plateau counter: generations since the best fitness last improved
+public class ConvergenceTracker {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private int generation;
+    private long bestFitness = Long.MIN_VALUE;
+    private int stalledGenerations;     // Generations without a best-fitness improvement
+    private int unchangedGenerations;   // Consecutive stalled generations with an identical population
+    private double diversity = 1.0;
+    private long populationHash;
+
+    // Open-addressing set reused to count distinct genome hashes
+    private long[] table = new long[0];
+    private boolean[] used = new boolean[0];
+
+    // Hash of one 64-item word at word index k; a genome hash XOR-combines these over its words
+    public static long wordHash(long word, int k) {
+        return mix(word + (k + 1) * GOLDEN);
+    }
+
+    // Hash of a packed genome stored at genes[offset, offset + words)
+    public static long hash(long[] genes, int offset, int words) {
+        long h = 0;
+        for (int k = 0; k < words; k++) {
+            h ^= wordHash(genes[offset + k], k);
+        }
+        return h;
+    }
+
+    // Hash of a list genome, packing it into words on the fly; equals the packed hash
+    public static long hash(List<Integer> individual) {
+        long h = 0;
+        long word = 0;
+        int n = individual.size();
+        for (int i = 0; i < n; i++) {
+            if (individual.get(i) == 1) {
+                word |= 1L << i;
+            }
+            if ((i & 63) == 63 || i == n - 1) {
+                h ^= wordHash(word, i >>> 6);
+                word = 0;
+            }
+        }
+        return h;
+    }
+
+    // Stafford variant 13 of the SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Record the initial population; does not count as a generation
+    public void start(long[] hashes, int size, long initialBestFitness) {
+        generation = 0;
+        bestFitness = initialBestFitness;
+        stalledGenerations = 0;
+        unchangedGenerations = 0;
+        populationHash = populationHash(hashes, size);
+        diversity = size == 0 ? 0 : distinct(hashes, size) / (double) size;
+    }
+
+    // Record one generation given each individual's hash and the best fitness found in it
+    public void update(long[] hashes, int size, long currentBestFitness) {
+        generation++;
+        long popHash = populationHash(hashes, size);
+        diversity = size == 0 ? 0 : distinct(hashes, size) / (double) size;
+
+        if (currentBestFitness > bestFitness) {
+            bestFitness = currentBestFitness;
+            stalledGenerations = 0;
+            unchangedGenerations = 0;
+        } else {
+            stalledGenerations++;
+            if (popHash == populationHash) {
+                unchangedGenerations++;
+            } else {
+                unchangedGenerations = 0;
+            }
+        }
+        populationHash = popHash;
+    }
+
+    // Ordered combination of individual hashes, so a reordered population counts as changed
+    private static long populationHash(long[] hashes, int size) {
+        long h = 1;
+        for (int i = 0; i < size; i++) {
+            h = 31 * h + hashes[i];
+        }
+        return h;
+    }
+
+    private int distinct(long[] hashes, int size) {
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        if (table.length < capacity) {
+            table = new long[capacity];
+            used = new boolean[capacity];
+        } else {
+            Arrays.fill(used, 0, capacity, false);
+        }
+        int mask = capacity - 1;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long h = hashes[i];
+            int slot = (int) mix(h) & mask;
+            while (used[slot] && table[slot] != h) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                table[slot] = h;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Bytes written by save()
+    static final int SNAPSHOT_BYTES = 36;
+
+    // Write the tracking state (not the scratch table) for a checkpoint
+    void save(ByteBuffer out) {
+        out.putInt(generation).putLong(bestFitness).putInt(stalledGenerations).putInt(unchangedGenerations)
+                .putDouble(diversity).putLong(populationHash);
+    }
+
+    // Inverse of save()
+    void restore(ByteBuffer in) {
+        generation = in.getInt();
+        bestFitness = in.getLong();
+        stalledGenerations = in.getInt();
+        unchangedGenerations = in.getInt();
+        diversity = in.getDouble();
+        populationHash = in.getLong();
+    }
+
+    public int generation() {
+        return generation;
+    }
+
+    public long bestFitness() {
+        return bestFitness;
+    }
+
+    public int stalledGenerations() {
+        return stalledGenerations;
+    }
+
+    public int unchangedGenerations() {
+        return unchangedGenerations;
+    }
+
+    public double diversity() {
+        return diversity;
+    }
+}
@@ -0,0 +1,52 @@
+// Classic 0/1 knapsack heuristics used to seed the GAs and to bound how far a run can still
+// improve.
+//  - greedy():  take items by value/weight ratio, best first, skipping any that no longer fit
+//  - dantzig(): LP-relaxation upper bound, i.e. the greedy fill plus the fitting fraction of the
+//               first item that does not fit; no feasible selection is worth more
+public class KnapsackBounds {
+
+    // Greedy selection by ratio; selected[i] tells whether item i is taken
+    public static boolean[] greedy(int[] weights, int[] values, long capacity) {
+        boolean[] selected = new boolean[weights.length];
+        long slack = capacity;
+        for (int item : PackedKnapsackGA.ratioOrder(weights, values)) {
+            if (weights[item] <= slack) {
+                selected[item] = true;
+                slack -= weights[item];
+            }
+        }
+        return selected;
+    }
+
+    // Dantzig bound. The LP optimum is evaluated in its dual form
+    //   lambda * capacity + sum over items of max(0, value - lambda * weight)
+    // at lambda = ratio of the critical item (the first one that does not fit in ratio order).
+    // That expression bounds the LP, and so every selection, for any lambda, so the float-keyed
+    // ratio sort cannot make the bound invalid; with an exact order it equals the LP optimum.
+    // A relative 1e-9 absorbs rounding in the double sum before flooring to an integer value.
+    public static long dantzig(int[] weights, int[] values, long capacity) {
+        double lambda = 0;
+        long weight = 0;
+        for (int item : PackedKnapsackGA.ratioOrder(weights, values)) {
+            if (weight + weights[item] > capacity) {
+                lambda = values[item] / (double) weights[item];
+                break;
+            }
+            weight += weights[item];
+        }
+        double bound = lambda * capacity;
+        for (int i = 0; i < weights.length; i++) {
+            bound += Math.max(0, values[i] - lambda * weights[i]);
+        }
+        return (long) Math.floor(bound * (1 + 1e-9));
+    }
+
+    public static long dantzig(KnapsackInstance instance) {
+        return dantzig(instance.weights, instance.values, instance.capacity);
+    }
+
+    // Relative gap between a solution value and an upper bound, 0 when provably optimal
+    public static double gap(long value, long upperBound) {
+        return upperBound <= 0 ? 0 : (double) (upperBound - value) / upperBound;
+    }
+}
@@ -1,7 +1,15 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 public class KnapsackGA {
 
@@ -10,7 +18,29 @@ public class KnapsackGA {
     // Define the Knapsack problem: item weights, values, and maximum capacity
     static int[] weights = {2, 3, 4, 5, 9}; // Weights of items
     static int[] values = {3, 4, 5, 6, 10}; // Values of items
-    static int maxWeight = 10; // Maximum weight capacity of the knapsack
+    static long maxWeight = 10; // Maximum weight capacity of the knapsack
+
+    // Share of the list GA's initial population seeded from the greedy ratio solution
+    // (0 = all random, as the built-in demo has always run)
+    static double seedFraction = 0;
+
+    // Share seeded greedily in instance-file runs, and their relative distance from the Dantzig
+    // bound at which they stop
+    static final double INSTANCE_SEED_FRACTION = 0.1;
+    static final double GAP = 0.001;
+
+    // Pool that scores the list GA's population (null = the calling thread). Fitness is a pure
+    // function of the individual, so the run does not depend on the pool.
+    static ForkJoinPool pool;
+
+    // Replace the built-in problem with an instance read from disk (plain, Pisinger or binary)
+    public static KnapsackInstance loadInstance(Path path) throws IOException {
+        KnapsackInstance instance = KnapsackInstanceReader.read(path);
+        weights = instance.weights;
+        values = instance.values;
+        maxWeight = instance.capacity;
+        return instance;
+    }
 
     // Initialize population with binary representation of inclusion/exclusion of items
     public static List<List<Integer>> initializePopulation(int size, int numItems) {
@@ -25,6 +55,55 @@ public class KnapsackGA {
         return population;
     }
 
+    // Replace the first count individuals with the greedy ratio solution and perturbations of it:
+    // a few random items dropped or added, then the worst-ratio items dropped until it fits and
+    // the best-ratio items added while they fit, except the ones just dropped
+    public static void seedPopulation(List<List<Integer>> population, int count) {
+        int numItems = weights.length;
+        int[] order = PackedKnapsackGA.ratioOrder(weights, values);
+        boolean[] greedy = KnapsackBounds.greedy(weights, values, maxWeight);
+        for (int i = 0; i < Math.min(count, population.size()); i++) {
+            List<Integer> individual = population.get(i);
+            long weight = 0;
+            for (int item = 0; item < numItems; item++) {
+                individual.set(item, greedy[item] ? 1 : 0);
+                if (greedy[item]) weight += weights[item];
+            }
+            if (i == 0) {
+                continue;
+            }
+            List<Integer> dropped = new ArrayList<>();
+            int flips = 1 + random.nextInt(Math.max(2, numItems / 100));
+            for (int f = 0; f < flips; f++) {
+                int item = random.nextInt(numItems);
+                if (individual.get(item) == 1) {
+                    dropped.add(item);
+                    weight -= weights[item];
+                } else {
+                    weight += weights[item];
+                }
+                individual.set(item, 1 - individual.get(item));
+            }
+            for (int k = numItems - 1; k >= 0 && weight > maxWeight; k--) {
+                if (individual.get(order[k]) == 1) {
+                    individual.set(order[k], 0);
+                    weight -= weights[order[k]];
+                }
+            }
+            for (int item : order) {
+                if (individual.get(item) == 0 && weight + weights[item] <= maxWeight && !dropped.contains(item)) {
+                    individual.set(item, 1);
+                    weight += weights[item];
+                }
+            }
+        }
+    }
+
+    // Dantzig LP bound on the optimum of the current problem
+    public static long upperBound() {
+        return KnapsackBounds.dantzig(weights, values, maxWeight);
+    }
+
     // Fitness function: sum of values of selected items, penalized if weight exceeds maxWeight
     public static int fitness(List<Integer> individual) {
         int totalValue = 0;
@@ -51,6 +130,13 @@ public class KnapsackGA {
         return fitnessScores;
     }
 
+    // Same as calculateFitness, split across the workers of pool. Scores keep population order.
+    public static List<Integer> calculateFitness(List<List<Integer>> population, ForkJoinPool pool) {
+        return pool.submit(() -> population.parallelStream()
+                .map(KnapsackGA::fitness)
+                .collect(Collectors.toList())).join();
+    }
+
     // Select mating pool based on fitness using roulette wheel selection
     public static List<List<Integer>> selectMatingPool(List<List<Integer>> population, List<Integer> fitnessScores, int numParents) {
         int totalFitness = 0;
@@ -128,45 +214,102 @@ public class KnapsackGA {
         return mutatedPop;
     }
 
-    // Check if population has converged (no change in best solution for multiple generations)
-    public static boolean isConverged(List<List<Integer>> population, List<List<Integer>> prevPopulation) {
-        return population.equals(prevPopulation);
+    // Hash every individual of the population for the convergence tracker
+    public static void hashPopulation(List<List<Integer>> population, long[] hashes) {
+        for (int i = 0; i < population.size(); i++) {
+            hashes[i] = ConvergenceTracker.hash(population.get(i));
+        }
+    }
+
+    // Each individual's hash keyed by identity, taken before selection (which may shuffle the
+    // population) so parents can carry their hash into the next generation
+    static Map<List<Integer>, Long> hashesByIdentity(List<List<Integer>> population, long[] hashes) {
+        Map<List<Integer>, Long> known = new IdentityHashMap<>(population.size() * 2);
+        for (int i = 0; i < population.size(); i++) {
+            known.put(population.get(i), hashes[i]);
+        }
+        return known;
+    }
+
+    // Hashes of the next population, parents followed by offspring: parents look up the hash
+    // they already had, only the offspring, which mutate() has just copied gene by gene anyway,
+    // are hashed
+    static void hashNextPopulation(Map<List<Integer>, Long> known, long[] hashes,
+                                   List<List<Integer>> parents, List<List<Integer>> offspring) {
+        int i = 0;
+        for (List<Integer> parent : parents) {
+            hashes[i++] = known.get(parent);
+        }
+        for (List<Integer> child : offspring) {
+            hashes[i++] = ConvergenceTracker.hash(child);
+        }
     }
 
     public static List<Integer> geneticAlgorithm(int popSize, int maxGenerations, int numParents, double mutationRate, int patience) {
+        return geneticAlgorithm(popSize, maxGenerations, numParents, mutationRate, StoppingCriterion.populationUnchanged(patience));
+    }
+
+    public static List<Integer> geneticAlgorithm(int popSize, int maxGenerations, int numParents, double mutationRate, StoppingCriterion stop) {
+        return geneticAlgorithm(popSize, maxGenerations, numParents, mutationRate, stop, null);
+    }
+
+    // Anytime variant: every new best is offered to incumbent (if not null) as soon as it is found;
+    // bound the run by time with StoppingCriterion.within
+    public static List<Integer> geneticAlgorithm(int popSize, int maxGenerations, int numParents, double mutationRate, StoppingCriterion stop,
+                                                 Incumbent<List<Integer>> incumbent) {
         List<List<Integer>> population = initializePopulation(popSize, weights.length);
-        List<Integer> fitnessScores = calculateFitness(population);
+        seedPopulation(population, (int) Math.round(seedFraction * popSize));
+        List<Integer> fitnessScores = pool == null ? calculateFitness(population) : calculateFitness(population, pool);
         List<Integer> bestIndividual = population.get(fitnessScores.indexOf(Collections.max(fitnessScores)));
         int bestFitness = fitness(bestIndividual);
-        int unchangedGenerations = 0;
+        if (incumbent != null) {
+            incumbent.offer(List.copyOf(bestIndividual), bestFitness, 0);
+        }
+
+        long[] hashes = new long[popSize];
+        hashPopulation(population, hashes);
+        ConvergenceTracker tracker = new ConvergenceTracker();
+        tracker.start(hashes, popSize, bestFitness);
+        Telemetry telemetry = Telemetry.global();
+        telemetry.beginRun("KnapsackGA");
 
         for (int gen = 0; gen < maxGenerations; gen++) {
+            telemetry.beginGeneration();
+            Map<List<Integer>, Long> known = hashesByIdentity(population, hashes);
             List<List<Integer>> parents = selectMatingPool(population, fitnessScores, numParents);
+            telemetry.phase(Telemetry.Phase.SELECT);
             List<List<Integer>> offspring = crossover(parents, popSize - numParents);
             offspring = mutate(offspring, mutationRate);
 
-            List<List<Integer>> prevPopulation = new ArrayList<>(population);
+            hashNextPopulation(known, hashes, parents, offspring);
             population.clear();
             population.addAll(parents);
             population.addAll(offspring);
+            telemetry.phase(Telemetry.Phase.VARY);
 
-            fitnessScores = calculateFitness(population);
+            fitnessScores = pool == null ? calculateFitness(population) : calculateFitness(population, pool);
+            telemetry.phase(Telemetry.Phase.EVALUATE);
             List<Integer> currentBestIndividual = population.get(fitnessScores.indexOf(Collections.max(fitnessScores)));
             int currentBestFitness = fitness(currentBestIndividual);
 
             if (currentBestFitness > bestFitness) {
                 bestIndividual = currentBestIndividual;
                 bestFitness = currentBestFitness;
-                unchangedGenerations = 0;
-            } else if (isConverged(population, prevPopulation)) {
-                unchangedGenerations++;
-            } else {
-                unchangedGenerations = 0;
+                if (incumbent != null) {
+                    incumbent.offer(List.copyOf(bestIndividual), bestFitness, gen + 1);
+                }
             }
+            tracker.update(hashes, popSize, currentBestFitness);
+            telemetry.phase(Telemetry.Phase.UPDATE);
 
-            System.out.printf("Generation %d: Best fitness=%d, Items=%s%n", gen + 1, bestFitness, bestIndividual);
+            if (telemetry.enabled()) {
+                long sum = 0;
+                for (int score : fitnessScores) sum += score;
+                telemetry.endGeneration(gen + 1, bestFitness, (double) sum / popSize, Collections.min(fitnessScores),
+                        tracker.diversity(), popSize);
+            }
 
-            if (unchangedGenerations >= patience) {
+            if (stop.shouldStop(tracker)) {
                 System.out.printf("Converged after %d generations.%n", gen + 1);
                 break;
             }
@@ -175,8 +318,81 @@ public class KnapsackGA {
         return bestIndividual;
     }
 
-    public static void main(String[] args) {
-        List<Integer> result = geneticAlgorithm(10, 100, 4, 0.1, 10);
+    // Packed genome mode: same GA on one long word per 64 items, for large item counts
+    public static List<Integer> geneticAlgorithmPacked(int popSize, int maxGenerations, int numParents, double mutationRate, int patience) {
+        long[] genome = checkpointed(new PackedKnapsackGA(weights, values, maxWeight)
+                .seed(random.nextLong())
+                .parallel())
+                .geneticAlgorithm(popSize, maxGenerations, numParents, mutationRate, patience);
+        List<Integer> individual = new ArrayList<>(Collections.nCopies(weights.length, 0));
+        for (int item : PackedPopulation.selectedItems(genome)) {
+            individual.set(item, 1);
+        }
+        return individual;
+    }
+
+    // Checkpoint to the -Dcheckpoint file, resuming from it first if it already exists
+    static PackedKnapsackGA checkpointed(PackedKnapsackGA ga) {
+        Path path = Checkpoint.configuredPath();
+        if (path == null) {
+            return ga;
+        }
+        if (Files.exists(path)) {
+            ga.resume(path);
+        }
+        return ga.checkpoint(path, Checkpoint.configuredInterval());
+    }
+
+    // Solve many instance files in this JVM, one KnapsackSolver each, printing every result as
+    // soon as it finishes
+    public static void solveBatch(List<Path> files) throws IOException {
+        List<KnapsackSolver> solvers = new ArrayList<>(files.size());
+        for (Path file : files) {
+            solvers.add(new KnapsackSolver(KnapsackInstanceReader.read(file), random.nextLong()));
+        }
+        BatchRunner.printAll(solvers);
+    }
+
+    // Anytime solve: run the packed GA until the budget is spent, printing each improvement
+    // as it is published
+    public static Solution<int[]> solveWithin(KnapsackInstance instance, Duration budget) {
+        return Incumbent.printing(instance.name(), incumbent -> new KnapsackSolver(instance, random.nextLong())
+                .generations(Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .within(budget)
+                .incumbent(incumbent)
+                .solve());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 2 && args[0].equals("--within")) {
+            Duration budget = Duration.ofMillis(Long.parseLong(args[1]));
+            System.out.println(solveWithin(KnapsackInstanceReader.read(Path.of(args[2])), budget));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--batch")) {
+            List<Path> files = new ArrayList<>();
+            for (int i = 1; i < args.length; i++) files.add(Path.of(args[i]));
+            solveBatch(files);
+            return;
+        }
+        if (args.length > 0 && !args[args.length - 1].startsWith("--")) {
+            // Instance file given: run the packed GA and print a summary instead of every item
+            KnapsackInstance instance = loadInstance(Path.of(args[args.length - 1]));
+            PackedKnapsackGA ga = checkpointed(new PackedKnapsackGA(instance).seed(random.nextLong()).parallel().repair(true)
+                    .seeding(INSTANCE_SEED_FRACTION));
+            StoppingCriterion stop = StoppingCriterion.populationUnchanged(50)
+                    .or(StoppingCriterion.withinGap(ga.upperBound(), GAP));
+            long[] genome = ga.geneticAlgorithm(100, 1000, 40, 1.0 / instance.numItems(), stop);
+            System.out.printf("%s: %d items selected, Fitness=%d, bound=%d (gap %.4f%%)%n", instance,
+                    PackedPopulation.selectedItems(genome).length, ga.bestFitness(), ga.upperBound(),
+                    100 * KnapsackBounds.gap(ga.bestFitness(), ga.upperBound()));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--parallel")) pool = ForkJoinPool.commonPool();
+        boolean packed = args.length > 0 && args[0].equals("--packed");
+        List<Integer> result = packed
+                ? geneticAlgorithmPacked(10, 100, 4, 0.1, 10)
+                : geneticAlgorithm(10, 100, 4, 0.1, 10);
         System.out.printf("Optimal solution found: Items selected: %s, Fitness=%d%n", result, fitness(result));
     }
 }
@@ -0,0 +1,43 @@
+// A 0/1 knapsack instance: primitive item weights and values plus the capacity
+public class KnapsackInstance {
+
+    final String name;
+    final int[] weights;
+    final int[] values;
+    final long capacity;
+
+    public KnapsackInstance(String name, int[] weights, int[] values, long capacity) {
+        if (weights.length != values.length) {
+            throw new IllegalArgumentException("weights and values must have the same length");
+        }
+        this.name = name;
+        this.weights = weights;
+        this.values = values;
+        this.capacity = capacity;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int[] weights() {
+        return weights;
+    }
+
+    public int[] values() {
+        return values;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    public int numItems() {
+        return weights.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d items, capacity %d)", name, weights.length, capacity);
+    }
+}
@@ -0,0 +1,233 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Reads knapsack instances straight out of a memory-mapped file. Numbers are parsed from the
+// mapped bytes into primitive arrays, with no Strings, line splitting or boxed lists, so load
+// time scales with file size. Supported formats:
+//  - PLAIN:     "n capacity" followed by n lines "value weight"
+//  - PISINGER:  Pisinger's knapPI files: a name line, "n N", "c C", "z Z", "time T" header
+//               lines, then n rows "i,value,weight,x" (terminated by "-----")
+//  - BINARY:    little-endian "KNP1" magic, int n, long capacity, int[n] weights, int[n] values
+public class KnapsackInstanceReader {
+
+    public enum Format { PLAIN, PISINGER, BINARY }
+
+    static final int BINARY_MAGIC = 0x31504E4B; // "KNP1" read little-endian
+    static final int BINARY_HEADER_BYTES = 16;
+
+    // Text files are mapped in windows of this size so files over 2 GB can be read
+    private static final long WINDOW = 1L << 28;
+
+    public static KnapsackInstance read(Path path) throws IOException {
+        return read(path, detect(path));
+    }
+
+    public static KnapsackInstance read(Path path, Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            String name = path.getFileName().toString();
+            switch (format) {
+                case BINARY:
+                    return readBinary(channel, name);
+                case PISINGER:
+                    return readPisinger(new Cursor(channel), name);
+                default:
+                    return readPlain(new Cursor(channel), name);
+            }
+        }
+    }
+
+    // Binary by magic number, Pisinger if the first line holds anything but numbers, else plain
+    public static Format detect(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(head, 0);
+            head.flip();
+            if (head.remaining() >= 4 && head.getInt(0) == BINARY_MAGIC) {
+                return Format.BINARY;
+            }
+            while (head.hasRemaining()) {
+                byte b = head.get();
+                if (b == '\n' || b == '\r') break;
+                if (!isDigit(b) && b != '-' && b != ' ' && b != '\t') return Format.PISINGER;
+            }
+            return Format.PLAIN;
+        }
+    }
+
+    private static KnapsackInstance readPlain(Cursor in, String name) throws IOException {
+        int n = Math.toIntExact(in.nextLong());
+        if (n < 0) throw new IOException("negative item count in " + name);
+        long capacity = in.nextLong();
+        int[] weights = new int[n];
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = Math.toIntExact(in.nextLong());
+            weights[i] = Math.toIntExact(in.nextLong());
+        }
+        return new KnapsackInstance(name, weights, values, capacity);
+    }
+
+    private static KnapsackInstance readPisinger(Cursor in, String name) throws IOException {
+        in.skipLine(); // Instance name
+        int n = -1;
+        long capacity = -1;
+        while (true) {
+            int b = in.skipBlank();
+            if (b < 0) throw new EOFException("missing item rows");
+            if (isDigit((byte) b)) break;
+            if (b == 'n') {
+                n = Math.toIntExact(in.nextLong());
+            } else if (b == 'c') {
+                capacity = in.nextLong();
+            }
+            in.skipLine(); // z (optimum), time and anything else
+        }
+        if (n < 0 || capacity < 0) {
+            throw new IOException("Pisinger header must declare n and c: " + name);
+        }
+        int[] weights = new int[n];
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            long row = in.nextLong();
+            if (row < 1 || row > n) {
+                throw new IOException("item row " + row + " outside 1.." + n + " in " + name);
+            }
+            int index = (int) row - 1;
+            values[index] = Math.toIntExact(in.nextLong());
+            weights[index] = Math.toIntExact(in.nextLong());
+            in.skipLine(); // Solution bit x
+        }
+        return new KnapsackInstance(name, weights, values, capacity);
+    }
+
+    // The arrays are bulk-copied out of the mapping through an IntBuffer view, one memcpy each
+    private static KnapsackInstance readBinary(FileChannel channel, String name) throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BINARY_HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != BINARY_MAGIC) {
+            throw new IOException("not a binary knapsack instance: " + name);
+        }
+        int n = header.getInt(4);
+        if (n < 0) throw new IOException("negative item count in " + name);
+        long capacity = header.getLong(8);
+        long bytes = 8L * n;
+        if (channel.size() < BINARY_HEADER_BYTES + bytes) {
+            throw new EOFException("truncated binary instance: " + name);
+        }
+        int[] weights = new int[n];
+        int[] values = new int[n];
+        readInts(channel, BINARY_HEADER_BYTES, weights);
+        readInts(channel, BINARY_HEADER_BYTES + 4L * n, values);
+        return new KnapsackInstance(name, weights, values, capacity);
+    }
+
+    private static void readInts(FileChannel channel, long position, int[] out) throws IOException {
+        int chunk = (int) (WINDOW / 4);
+        for (int done = 0; done < out.length; done += chunk) {
+            int len = Math.min(chunk, out.length - done);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * done, 4L * len);
+            map.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(out, done, len);
+        }
+    }
+
+    // Write an instance in the binary format
+    public static void writeBinary(KnapsackInstance instance, Path path) throws IOException {
+        int n = instance.numItems();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(BINARY_MAGIC).putInt(n).putLong(instance.capacity).flip();
+            while (header.hasRemaining()) channel.write(header, BINARY_HEADER_BYTES - header.remaining());
+            writeInts(channel, BINARY_HEADER_BYTES, instance.weights);
+            writeInts(channel, BINARY_HEADER_BYTES + 4L * n, instance.values);
+        }
+    }
+
+    private static void writeInts(FileChannel channel, long position, int[] data) throws IOException {
+        int chunk = (int) (WINDOW / 4);
+        for (int done = 0; done < data.length; done += chunk) {
+            int len = Math.min(chunk, data.length - done);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, position + 4L * done, 4L * len);
+            map.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(data, done, len);
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    // Sequential byte cursor over a file, remapping the next window when the current one ends
+    static final class Cursor {
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        Cursor(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        private void map(long start) throws IOException {
+            windowStart = start;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW, size - start));
+        }
+
+        // Next byte, or -1 at end of file
+        int next() throws IOException {
+            if (!window.hasRemaining()) {
+                long end = windowStart + window.limit();
+                if (end >= size) return -1;
+                map(end);
+            }
+            return window.get();
+        }
+
+        // Step back one byte (never crosses a window start, callers only unread what they read)
+        void unread() {
+            window.position(window.position() - 1);
+        }
+
+        // Skip spaces and line breaks, leave the cursor on the next byte and return it (-1 at EOF)
+        int skipBlank() throws IOException {
+            int b;
+            do {
+                b = next();
+            } while (b == ' ' || b == '\t' || b == '\r' || b == '\n');
+            if (b >= 0) unread();
+            return b;
+        }
+
+        void skipLine() throws IOException {
+            int b;
+            do {
+                b = next();
+            } while (b >= 0 && b != '\n');
+        }
+
+        // Parse the next integer, skipping any separators (spaces, commas, letters) before it
+        long nextLong() throws IOException {
+            int b = next();
+            while (b >= 0 && !isDigit((byte) b) && b != '-') {
+                b = next();
+            }
+            if (b < 0) throw new EOFException("unexpected end of instance file");
+            boolean negative = b == '-';
+            if (negative) b = next();
+            long value = 0;
+            while (b >= 0 && isDigit((byte) b)) {
+                value = value * 10 + (b - '0');
+                b = next();
+            }
+            if (b >= 0) unread(); // Leave the terminator for skipLine
+            return negative ? -value : value;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import java.time.Duration;
+import java.util.function.Consumer;
+
+// Solver for one knapsack instance on the packed GA, with no static state: every solve() builds
+// its own PackedKnapsackGA, single-threaded, silent and without telemetry, so thousands of
+// these can share a JVM through BatchRunner. The solution is the selected item indices and the
+// objective their total value. Defaults match the instance-file run of KnapsackGA: a tenth of
+// the population seeded greedily, and a stop within 0.1% of the Dantzig bound.
+public class KnapsackSolver implements Solver<int[]> {
+
+    private final KnapsackInstance instance;
+    private final long seed;
+
+    private int popSize = 100;
+    private int numParents = 40;
+    private int maxGenerations = 1000;
+    private int patience = 50;
+    private double mutationRate = Double.NaN; // NaN = 1 / numItems
+    private double seedFraction = 0.1;
+    private double gap = 0.001;                  // 0 = only stop on a proven optimum
+    private Duration budget;                     // null = no wall-clock limit
+    private Incumbent<int[]> incumbent;
+    private Consumer<PackedKnapsackGA> configure = ga -> { };
+
+    public KnapsackSolver(KnapsackInstance instance, long seed) {
+        this.instance = instance;
+        this.seed = seed;
+    }
+
+    public KnapsackSolver population(int popSize, int numParents) {
+        this.popSize = popSize;
+        this.numParents = numParents;
+        return this;
+    }
+
+    // Stop after maxGenerations, or once the population is unchanged for patience generations
+    public KnapsackSolver generations(int maxGenerations, int patience) {
+        this.maxGenerations = maxGenerations;
+        this.patience = patience;
+        return this;
+    }
+
+    public KnapsackSolver mutationRate(double mutationRate) {
+        this.mutationRate = mutationRate;
+        return this;
+    }
+
+    // Share of the initial population seeded from the greedy solution
+    public KnapsackSolver seeding(double fraction) {
+        this.seedFraction = fraction;
+        return this;
+    }
+
+    // Also stop once the best is within this relative gap of the Dantzig upper bound
+    public KnapsackSolver gap(double gap) {
+        this.gap = gap;
+        return this;
+    }
+
+    // Anytime mode: also stop before the next generation would overrun budget
+    public KnapsackSolver within(Duration budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    // Offer every new best to incumbent while solving; the caller closes it
+    public KnapsackSolver incumbent(Incumbent<int[]> incumbent) {
+        this.incumbent = incumbent;
+        return this;
+    }
+
+    // Extra engine settings applied to each fresh engine, e.g. ga -> ga.repair(false)
+    public KnapsackSolver configure(Consumer<PackedKnapsackGA> configure) {
+        this.configure = configure;
+        return this;
+    }
+
+    @Override
+    public String name() {
+        return instance.name();
+    }
+
+    @Override
+    public Solution<int[]> solve() {
+        long start = System.nanoTime();
+        PackedKnapsackGA ga = new PackedKnapsackGA(instance)
+                .seed(seed)
+                .repair(true)
+                .verbose(false)
+                .seeding(seedFraction)
+                .telemetry(Telemetry.off())
+                .incumbent(incumbent);
+        configure.accept(ga);
+        double rate = Double.isNaN(mutationRate) ? 1.0 / instance.numItems() : mutationRate;
+        StoppingCriterion stop = StoppingCriterion.populationUnchanged(patience)
+                .or(StoppingCriterion.withinGap(ga.upperBound(), gap));
+        if (budget != null) {
+            stop = stop.or(StoppingCriterion.within(budget));
+        }
+        long[] genome = ga.geneticAlgorithm(popSize, maxGenerations, numParents, rate, stop);
+        return Solution.of(name(), PackedPopulation.selectedItems(genome), ga.bestFitness(), ga.generations(),
+                System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,572 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Knapsack GA over bit-packed genomes. Same algorithm as KnapsackGA (roulette selection,
+// single-point crossover, bit-flip mutation, parents + offspring replacement) but with the
+// population held in two contiguous long[] buffers that are swapped every generation.
+//
+// Offspring are bred and scored in fixed-size blocks. Each block draws from its own
+// SplittableRandom stream split off the generation's stream in block order, so a seeded run
+// gives identical results whether blocks run sequentially or spread over a ForkJoinPool.
+//
+// Individuals carry cached total weight and value (see PackedPopulation), so scoring a child
+// is O(1). With repair enabled, overweight children are made feasible greedily by
+// value/weight ratio and then topped up, instead of being scored 0. For that the engine keeps
+// genes in ratio order (gene 0 = best value/weight item), so both repair passes skip whole
+// words of set or clear bits; returned genomes are mapped back to item order.
+//
+// Runs can be checkpointed and resumed. The only random state is the root stream, which is
+// split once for the initial population and once per generation, so a checkpoint stores the
+// seed and generation count and a resumed run replays the splits; it then continues exactly
+// like the uninterrupted run.
+public class PackedKnapsackGA {
+
+    static final int CHECKPOINT_MAGIC = 0x43504E4B; // "KNPC" read little-endian
+
+    // Individuals per breeding block; fixed so results do not depend on the thread count
+    static final int BLOCK_SIZE = 64;
+
+    private final int[] itemWeights;
+    private final int[] itemValues;
+    private final long maxWeight;
+    private final int numItems;
+
+    // Weights and values in gene order; the item arrays themselves unless genes are permuted
+    private int[] weights;
+    private int[] values;
+    private int[] geneItem; // Gene position -> item index, null for the identity
+
+    private long seed = System.nanoTime();
+    private ForkJoinPool pool; // null = evaluate on the calling thread
+    private boolean repair;
+    private boolean verbose = true;
+    private double seedFraction;   // Share of the initial population seeded greedily
+    private long upperBound = -1;  // Dantzig bound, computed on first use
+    private Telemetry telemetry = Telemetry.global();
+    private Incumbent<int[]> incumbent; // null = no best-so-far publishing
+    private Checkpoint checkpoint; // null = no periodic snapshots
+    private Path resumeFrom;       // Checkpoint to continue from on the next run
+
+    // Greedy seeding: ratio order of the genes, the greedy genome and how many seeds to breed
+    private int[] seedOrder;
+    private long[] greedyGenome;
+    private int seedCount;
+
+    // Run state, double-buffered between generations
+    private PackedPopulation population;
+    private PackedPopulation next;
+    private long[] fitness;
+    private long[] nextFitness;
+    private long[] hashes;
+    private long[] nextHashes;
+    private SplittableRandom[] streams;
+    private int breedFrom;
+    private int numParents;
+    private double mutationRate;
+
+    private long[] bestGenome;
+    private long bestFitness;
+    private int generations;
+
+    public PackedKnapsackGA(int[] weights, int[] values, long maxWeight) {
+        if (weights.length != values.length) {
+            throw new IllegalArgumentException("weights and values must have the same length");
+        }
+        this.itemWeights = weights;
+        this.itemValues = values;
+        this.weights = weights;
+        this.values = values;
+        this.maxWeight = maxWeight;
+        this.numItems = weights.length;
+    }
+
+    public PackedKnapsackGA(KnapsackInstance instance) {
+        this(instance.weights, instance.values, instance.capacity);
+    }
+
+    public PackedKnapsackGA seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    // Greedily repair infeasible children by value/weight ratio instead of scoring them 0
+    public PackedKnapsackGA repair(boolean repair) {
+        this.repair = repair;
+        return this;
+    }
+
+    // Start a fresh run with this fraction of the population seeded from the greedy ratio
+    // solution (one exact copy, the rest random perturbations of it) instead of random bits
+    public PackedKnapsackGA seeding(double fraction) {
+        this.seedFraction = fraction;
+        return this;
+    }
+
+    // Dantzig LP bound on the optimum of this instance, e.g. for StoppingCriterion.withinGap
+    public long upperBound() {
+        if (upperBound < 0) {
+            upperBound = KnapsackBounds.dantzig(itemWeights, itemValues, maxWeight);
+        }
+        return upperBound;
+    }
+
+    // Print a line when the run converges (on by default; off for batch runs)
+    public PackedKnapsackGA verbose(boolean verbose) {
+        this.verbose = verbose;
+        return this;
+    }
+
+    // Offer every new best (as selected item indices) to incumbent while the run is going
+    public PackedKnapsackGA incumbent(Incumbent<int[]> incumbent) {
+        this.incumbent = incumbent;
+        return this;
+    }
+
+    // Snapshot the run to path every interval generations (written off-thread)
+    public PackedKnapsackGA checkpoint(Path path, int interval) {
+        this.checkpoint = new Checkpoint(path, CHECKPOINT_MAGIC, interval);
+        return this;
+    }
+
+    // Continue the run saved at path on the next geneticAlgorithm call, which must use the same
+    // instance, population size, parents, mutation rate and repair setting
+    public PackedKnapsackGA resume(Path path) {
+        this.resumeFrom = path;
+        return this;
+    }
+
+    // Per-generation metrics sink (Telemetry.global() by default)
+    public PackedKnapsackGA telemetry(Telemetry telemetry) {
+        this.telemetry = telemetry;
+        return this;
+    }
+
+    // Evaluate the population across all cores of the common pool
+    public PackedKnapsackGA parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    // Evaluate the population on the given pool, or on the calling thread if pool is null
+    public PackedKnapsackGA parallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    // Fitness function: total value of the selected items, 0 if the knapsack is overweight.
+    // Reads the totals the individual carries, so it is O(1).
+    public long fitness(PackedPopulation population, int individual) {
+        return population.totalWeight(individual) > maxWeight ? 0 : population.totalValue(individual);
+    }
+
+    // Items sorted by value/weight ratio, best first. Keys pack the float ratio (non-negative
+    // floats order like their bit patterns) above the item index so a primitive sort does it.
+    static int[] ratioOrder(int[] weights, int[] values) {
+        int n = weights.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            float ratio = weights[i] == 0 ? Float.POSITIVE_INFINITY : values[i] / (float) weights[i];
+            keys[i] = ((long) Float.floatToIntBits(Math.max(ratio, 0f)) << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[n - 1 - i];
+        }
+        return order;
+    }
+
+    // Switch genes to ratio order, once per engine
+    private void prepareRatioOrder() {
+        if (geneItem != null) return;
+        geneItem = ratioOrder(itemWeights, itemValues);
+        weights = new int[numItems];
+        values = new int[numItems];
+        for (int g = 0; g < numItems; g++) {
+            weights[g] = itemWeights[geneItem[g]];
+            values[g] = itemValues[geneItem[g]];
+        }
+    }
+
+    // Drop the worst-ratio selected items until the individual fits, then add the best-ratio
+    // unselected items in order until one does not fit. Both passes walk words of the ratio-ordered
+    // genome, skipping 64 clear (resp. set) genes at a time.
+    void repair(PackedPopulation population, int individual) {
+        long[] genes = population.genes;
+        int o = population.offset(individual);
+        for (int w = population.words - 1; w >= 0 && population.totalWeight(individual) > maxWeight; w--) {
+            long word = genes[o + w];
+            while (word != 0 && population.totalWeight(individual) > maxWeight) {
+                int bit = 63 - Long.numberOfLeadingZeros(word);
+                population.flip(individual, (w << 6) + bit);
+                word &= ~(1L << bit);
+            }
+        }
+        for (int w = 0; w < population.words; w++) {
+            long free = ~genes[o + w] & (w == population.words - 1 ? population.lastWordMask : -1L);
+            while (free != 0) {
+                int gene = (w << 6) + Long.numberOfTrailingZeros(free);
+                long slack = maxWeight - population.totalWeight(individual);
+                if (weights[gene] > slack) return;
+                population.flip(individual, gene);
+                free &= free - 1;
+            }
+        }
+    }
+
+    // Ratio order and greedy genome in gene order, once per engine
+    private void prepareSeeds() {
+        if (greedyGenome != null) return;
+        seedOrder = ratioOrder(weights, values);
+        boolean[] greedy = KnapsackBounds.greedy(weights, values, maxWeight);
+        greedyGenome = new long[PackedPopulation.wordsFor(numItems)];
+        for (int gene = 0; gene < numItems; gene++) {
+            if (greedy[gene]) greedyGenome[gene >>> 6] |= 1L << gene;
+        }
+    }
+
+    // Seed 0 is the greedy solution. Every other seed drops and adds a few random genes, then
+    // is made feasible by dropping the worst-ratio genes and filled back up best ratio first,
+    // without re-adding the genes it just dropped
+    private void seed(PackedPopulation population, int individual, SplittableRandom rng) {
+        System.arraycopy(greedyGenome, 0, population.genes, population.offset(individual), population.words);
+        population.recompute(individual);
+        if (individual == 0) {
+            return;
+        }
+        int flips = 1 + rng.nextInt(Math.max(2, numItems / 100));
+        int[] dropped = new int[flips];
+        int droppedCount = 0;
+        for (int f = 0; f < flips; f++) {
+            int gene = rng.nextInt(numItems);
+            if (population.get(individual, gene)) {
+                dropped[droppedCount++] = gene;
+            }
+            population.flip(individual, gene);
+        }
+        for (int k = numItems - 1; k >= 0 && population.totalWeight(individual) > maxWeight; k--) {
+            if (population.get(individual, seedOrder[k])) {
+                population.flip(individual, seedOrder[k]);
+            }
+        }
+        for (int k = 0; k < numItems; k++) {
+            int gene = seedOrder[k];
+            if (!population.get(individual, gene) && weights[gene] <= maxWeight - population.totalWeight(individual)
+                    && !contains(dropped, droppedCount, gene)) {
+                population.flip(individual, gene);
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    // Map a genome from gene order back to item order
+    long[] toItemOrder(long[] genome) {
+        if (geneItem == null) return genome.clone();
+        long[] items = new long[genome.length];
+        for (int w = 0; w < genome.length; w++) {
+            long word = genome[w];
+            while (word != 0) {
+                int item = geneItem[(w << 6) + Long.numberOfTrailingZeros(word)];
+                items[item >>> 6] |= 1L << item;
+                word &= word - 1;
+            }
+        }
+        return items;
+    }
+
+    // Roulette wheel selection of numParents individuals from population into the first
+    // numParents slots of parents. prefix is scratch space of length population.size.
+    private void selectMatingPool(PackedPopulation population, long[] fitness, int numParents,
+                                  PackedPopulation parents, long[] parentFitness, long[] parentHashes,
+                                  long[] prefix, int[] order, SplittableRandom rng) {
+        long total = 0;
+        for (int i = 0; i < population.size; i++) {
+            total += fitness[i];
+            prefix[i] = total;
+        }
+        if (total == 0) {
+            // Select random distinct individuals if all fitness scores are zero (partial shuffle)
+            for (int i = 0; i < population.size; i++) order[i] = i;
+            for (int i = 0; i < numParents; i++) {
+                int j = i + rng.nextInt(population.size - i);
+                int t = order[i]; order[i] = order[j]; order[j] = t;
+                parents.copy(i, population, order[i]);
+                parentFitness[i] = fitness[order[i]];
+                parentHashes[i] = hashes[order[i]];
+            }
+            return;
+        }
+        for (int i = 0; i < numParents; i++) {
+            int j = upperBound(prefix, population.size, rng.nextLong(total));
+            parents.copy(i, population, j);
+            parentFitness[i] = fitness[j];
+            parentHashes[i] = hashes[j];
+        }
+    }
+
+    // First index whose prefix sum exceeds r
+    private static int upperBound(long[] prefix, int n, long r) {
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prefix[mid] > r) hi = mid; else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // Breed (or, for the initial population, randomize), score and hash individuals [lo, hi) of
+    // next. Parents carry their hash over from selection; only new genomes are hashed.
+    private void breedBlock(int lo, int hi, SplittableRandom rng) {
+        for (int i = lo; i < hi; i++) {
+            if (breedFrom < 0) {
+                if (i < seedCount) {
+                    seed(next, i, rng);
+                } else {
+                    next.randomize(i, rng);
+                }
+            } else if (i >= breedFrom) {
+                next.crossover(i, next, rng.nextInt(numParents), rng.nextInt(numParents), rng.nextInt(numItems));
+                next.mutate(i, mutationRate, rng);
+            } else {
+                continue; // Parents keep the fitness they were selected with
+            }
+            if (repair) {
+                repair(next, i);
+            }
+            nextFitness[i] = fitness(next, i);
+            nextHashes[i] = ConvergenceTracker.hash(next.genes, next.offset(i), next.words);
+        }
+    }
+
+    // Split one stream per block off the generation stream, then run every block from index
+    // from onwards, either inline or as fork/join tasks
+    private void breed(int from, SplittableRandom genRng) {
+        int firstBlock = from / BLOCK_SIZE;
+        int blocks = (next.size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int b = firstBlock; b < blocks; b++) {
+            streams[b] = genRng.split();
+        }
+        if (pool == null || blocks - firstBlock < 2) {
+            for (int b = firstBlock; b < blocks; b++) {
+                breedBlock(b * BLOCK_SIZE, Math.min(next.size, (b + 1) * BLOCK_SIZE), streams[b]);
+            }
+        } else {
+            pool.invoke(new BreedTask(firstBlock, blocks));
+        }
+    }
+
+    private final class BreedTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int fromBlock, toBlock;
+
+        BreedTask(int fromBlock, int toBlock) {
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock == 1) {
+                breedBlock(fromBlock * BLOCK_SIZE, Math.min(next.size, toBlock * BLOCK_SIZE), streams[fromBlock]);
+                return;
+            }
+            int mid = (fromBlock + toBlock) >>> 1;
+            invokeAll(new BreedTask(fromBlock, mid), new BreedTask(mid, toBlock));
+        }
+    }
+
+    public long[] geneticAlgorithm(int popSize, int maxGenerations, int numParents, double mutationRate, int patience) {
+        return geneticAlgorithm(popSize, maxGenerations, numParents, mutationRate, StoppingCriterion.populationUnchanged(patience));
+    }
+
+    public long[] geneticAlgorithm(int popSize, int maxGenerations, int numParents, double mutationRate, StoppingCriterion stop) {
+        if (numParents < 1 || numParents > popSize) {
+            throw new IllegalArgumentException("numParents must be in [1, popSize]");
+        }
+        ByteBuffer saved = resumeFrom == null ? null : readCheckpoint(popSize, numParents, mutationRate);
+        SplittableRandom root = new SplittableRandom(seed);
+        if (repair) {
+            prepareRatioOrder();
+        }
+        population = new PackedPopulation(popSize, weights, values);
+        next = new PackedPopulation(popSize, weights, values);
+        fitness = new long[popSize];
+        nextFitness = new long[popSize];
+        hashes = new long[popSize];
+        nextHashes = new long[popSize];
+        streams = new SplittableRandom[(popSize + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        this.numParents = numParents;
+        this.mutationRate = mutationRate;
+        long[] prefix = new long[popSize];
+        int[] order = new int[popSize];
+
+        bestGenome = new long[population.words];
+        ConvergenceTracker tracker = new ConvergenceTracker();
+        if (saved != null) {
+            restore(saved, tracker);
+            for (int split = 0; split <= generations; split++) {
+                root.split();
+            }
+        } else {
+            // Initial population is bred into next and swapped in
+            seedCount = (int) Math.min(popSize, Math.round(seedFraction * popSize));
+            if (seedCount > 0) {
+                prepareSeeds();
+            }
+            breedFrom = -1;
+            breed(0, root.split());
+            swap();
+
+            int bestIndex = argMax(fitness, popSize);
+            population.copyTo(bestIndex, bestGenome);
+            bestFitness = fitness[bestIndex];
+            tracker.start(hashes, popSize, bestFitness);
+            generations = 0;
+        }
+        publishBest();
+        breedFrom = numParents;
+        telemetry.beginRun("PackedKnapsackGA");
+
+        for (int gen = generations; gen < maxGenerations; gen++) {
+            generations = gen + 1;
+            telemetry.beginGeneration();
+            SplittableRandom genRng = root.split();
+            selectMatingPool(population, fitness, numParents, next, nextFitness, nextHashes, prefix, order, genRng);
+            telemetry.phase(Telemetry.Phase.SELECT);
+
+            // Offspring are bred (and scored) from the parents already copied into the head of next
+            breed(numParents, genRng);
+            swap();
+            telemetry.phase(Telemetry.Phase.VARY);
+
+            int currentBest = argMax(fitness, popSize);
+            if (fitness[currentBest] > bestFitness) {
+                bestFitness = fitness[currentBest];
+                population.copyTo(currentBest, bestGenome);
+                publishBest();
+            }
+            tracker.update(hashes, popSize, fitness[currentBest]);
+            telemetry.phase(Telemetry.Phase.UPDATE);
+
+            if (telemetry.enabled()) {
+                long sum = 0;
+                long worst = Long.MAX_VALUE;
+                for (int i = 0; i < popSize; i++) {
+                    sum += fitness[i];
+                    worst = Math.min(worst, fitness[i]);
+                }
+                telemetry.endGeneration(gen + 1, bestFitness, (double) sum / popSize, worst,
+                        tracker.diversity(), popSize - numParents);
+            }
+
+            if (checkpoint != null && checkpoint.due(gen + 1)) {
+                saveCheckpoint(tracker);
+            }
+
+            if (stop.shouldStop(tracker)) {
+                if (verbose) {
+                    System.out.printf("Converged after %d generations.%n", gen + 1);
+                }
+                break;
+            }
+        }
+        if (checkpoint != null) {
+            checkpoint.await();
+        }
+        return toItemOrder(bestGenome);
+    }
+
+    private void publishBest() {
+        if (incumbent != null) {
+            incumbent.offer(PackedPopulation.selectedItems(toItemOrder(bestGenome)), bestFitness, generations);
+        }
+    }
+
+    // Snapshot: seed, run shape, generation, best, tracker, then the population columns
+    private void saveCheckpoint(ConvergenceTracker tracker) {
+        int popSize = population.size;
+        int words = population.words;
+        ByteBuffer out = checkpoint.begin(44 + ConvergenceTracker.SNAPSHOT_BYTES
+                + Long.BYTES * (words + popSize * words + 4 * popSize));
+        if (out == null) {
+            return;
+        }
+        out.putLong(seed).putInt(numItems).putInt(popSize).putInt(numParents).putDouble(mutationRate)
+                .putInt(repair ? 1 : 0).putInt(generations).putLong(bestFitness);
+        tracker.save(out);
+        Checkpoint.put(out, bestGenome, words);
+        Checkpoint.put(out, population.genes, popSize * words);
+        Checkpoint.put(out, population.totalWeight, popSize);
+        Checkpoint.put(out, population.totalValue, popSize);
+        Checkpoint.put(out, fitness, popSize);
+        Checkpoint.put(out, hashes, popSize);
+        checkpoint.commit(out);
+    }
+
+    // Map the checkpoint, check it matches this run and adopt its seed; returns the buffer
+    // positioned at the generation count
+    private ByteBuffer readCheckpoint(int popSize, int numParents, double mutationRate) {
+        ByteBuffer in;
+        try {
+            in = Checkpoint.read(resumeFrom, CHECKPOINT_MAGIC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long savedSeed = in.getLong();
+        if (in.getInt() != numItems || in.getInt() != popSize || in.getInt() != numParents
+                || in.getDouble() != mutationRate || (in.getInt() == 1) != repair) {
+            throw new IllegalArgumentException(resumeFrom + " was saved by a run with different parameters");
+        }
+        seed = savedSeed;
+        resumeFrom = null;
+        return in;
+    }
+
+    private void restore(ByteBuffer in, ConvergenceTracker tracker) {
+        int popSize = population.size;
+        int words = population.words;
+        generations = in.getInt();
+        bestFitness = in.getLong();
+        tracker.restore(in);
+        Checkpoint.get(in, bestGenome, words);
+        Checkpoint.get(in, population.genes, popSize * words);
+        Checkpoint.get(in, population.totalWeight, popSize);
+        Checkpoint.get(in, population.totalValue, popSize);
+        Checkpoint.get(in, fitness, popSize);
+        Checkpoint.get(in, hashes, popSize);
+    }
+
+    private void swap() {
+        PackedPopulation swapPop = population; population = next; next = swapPop;
+        long[] swapFit = fitness; fitness = nextFitness; nextFitness = swapFit;
+        long[] swapHash = hashes; hashes = nextHashes; nextHashes = swapHash;
+    }
+
+    private static int argMax(long[] fitness, int n) {
+        int best = 0;
+        for (int i = 1; i < n; i++) {
+            if (fitness[i] > fitness[best]) best = i;
+        }
+        return best;
+    }
+
+    public long bestFitness() {
+        return bestFitness;
+    }
+
+    public int generations() {
+        return generations;
+    }
+}
@@ -0,0 +1,238 @@
+import java.util.SplittableRandom;
+
+// Population of bit-packed knapsack genomes: one long word per 64 items, all individuals
+// laid out back to back in a single long[] so operators walk contiguous memory.
+//
+// Every individual also carries its total weight and total value. Operators keep these up to
+// date in time proportional to the genes they change, so fitness never needs a full rescan.
+public class PackedPopulation {
+
+    final int size;       // Number of individuals
+    final int numItems;   // Number of genes (items) per individual
+    final int words;      // Number of 64-bit words per individual
+    final long[] genes;   // size * words, individual i occupies [i * words, (i + 1) * words)
+
+    final int[] itemWeights;
+    final int[] itemValues;
+    final long[] totalWeight; // Cached per individual
+    final long[] totalValue;  // Cached per individual
+
+    // Mask of the valid bits in the last word of a genome
+    final long lastWordMask;
+
+    public PackedPopulation(int size, int[] itemWeights, int[] itemValues) {
+        this.size = size;
+        this.numItems = itemWeights.length;
+        this.words = wordsFor(numItems);
+        this.genes = new long[Math.multiplyExact(size, words)];
+        this.itemWeights = itemWeights;
+        this.itemValues = itemValues;
+        this.totalWeight = new long[size];
+        this.totalValue = new long[size];
+        int tail = numItems & 63;
+        this.lastWordMask = tail == 0 ? -1L : (1L << tail) - 1;
+    }
+
+    static int wordsFor(int numItems) {
+        return (numItems + 63) >>> 6;
+    }
+
+    int offset(int individual) {
+        return individual * words;
+    }
+
+    public boolean get(int individual, int item) {
+        return (genes[individual * words + (item >>> 6)] & (1L << item)) != 0;
+    }
+
+    public void flip(int individual, int item) {
+        int w = individual * words + (item >>> 6);
+        genes[w] ^= 1L << item;
+        if ((genes[w] & (1L << item)) != 0) {
+            totalWeight[individual] += itemWeights[item];
+            totalValue[individual] += itemValues[item];
+        } else {
+            totalWeight[individual] -= itemWeights[item];
+            totalValue[individual] -= itemValues[item];
+        }
+    }
+
+    public long totalWeight(int individual) {
+        return totalWeight[individual];
+    }
+
+    public long totalValue(int individual) {
+        return totalValue[individual];
+    }
+
+    // Fill an individual with uniformly random bits (each item included with probability 1/2)
+    public void randomize(int individual, SplittableRandom rng) {
+        int o = individual * words;
+        for (int w = 0; w < words; w++) {
+            genes[o + w] = rng.nextLong();
+        }
+        genes[o + words - 1] &= lastWordMask;
+        recompute(individual);
+    }
+
+    // Clear an individual to the empty knapsack
+    public void clear(int individual) {
+        int o = individual * words;
+        for (int w = 0; w < words; w++) {
+            genes[o + w] = 0;
+        }
+        totalWeight[individual] = 0;
+        totalValue[individual] = 0;
+    }
+
+    // Recompute the cached totals of an individual from its genes, walking only the set bits
+    public void recompute(int individual) {
+        int o = individual * words;
+        long weight = 0;
+        long value = 0;
+        for (int w = 0; w < words; w++) {
+            long word = genes[o + w];
+            int base = w << 6;
+            while (word != 0) {
+                int item = base + Long.numberOfTrailingZeros(word);
+                weight += itemWeights[item];
+                value += itemValues[item];
+                word &= word - 1;
+            }
+        }
+        totalWeight[individual] = weight;
+        totalValue[individual] = value;
+    }
+
+    // Copy individual srcIndividual of src into slot dst of this population
+    public void copy(int dst, PackedPopulation src, int srcIndividual) {
+        System.arraycopy(src.genes, srcIndividual * words, genes, dst * words, words);
+        totalWeight[dst] = src.totalWeight[srcIndividual];
+        totalValue[dst] = src.totalValue[srcIndividual];
+    }
+
+    // Copy one genome out of the population into a caller-owned buffer of length words
+    public void copyTo(int individual, long[] out) {
+        System.arraycopy(genes, individual * words, out, 0, words);
+    }
+
+    // Single-point crossover: items [0, point) come from parent1, items [point, numItems) from parent2.
+    // Whole words are block-copied; only the word containing the cut point is masked.
+    // The child's totals start from the parent that contributes the longer side and are
+    // corrected only for the items where the parents differ on the shorter side.
+    public void crossover(int dst, PackedPopulation src, int parent1, int parent2, int point) {
+        int d = dst * words;
+        int a = parent1 * words;
+        int b = parent2 * words;
+        int cut = point >>> 6;
+        int bit = point & 63;
+        long cutMask = (1L << bit) - 1; // Bits of the cut word that come from parent1
+
+        long weight, value;
+        if (point < numItems - point) {
+            // Start from parent2, swap in parent1's genes on [0, point)
+            weight = src.totalWeight[parent2];
+            value = src.totalValue[parent2];
+            for (int w = 0; w <= cut && w < words; w++) {
+                long mask = w < cut ? -1L : cutMask;
+                long diff = (src.genes[a + w] ^ src.genes[b + w]) & mask;
+                long fromA = src.genes[a + w];
+                int base = w << 6;
+                while (diff != 0) {
+                    int item = base + Long.numberOfTrailingZeros(diff);
+                    int sign = (fromA & (diff & -diff)) != 0 ? 1 : -1;
+                    weight += sign * (long) itemWeights[item];
+                    value += sign * (long) itemValues[item];
+                    diff &= diff - 1;
+                }
+            }
+        } else {
+            // Start from parent1, swap in parent2's genes on [point, numItems)
+            weight = src.totalWeight[parent1];
+            value = src.totalValue[parent1];
+            for (int w = cut; w < words; w++) {
+                long mask = w > cut ? -1L : ~cutMask;
+                long diff = (src.genes[a + w] ^ src.genes[b + w]) & mask;
+                long fromB = src.genes[b + w];
+                int base = w << 6;
+                while (diff != 0) {
+                    int item = base + Long.numberOfTrailingZeros(diff);
+                    int sign = (fromB & (diff & -diff)) != 0 ? 1 : -1;
+                    weight += sign * (long) itemWeights[item];
+                    value += sign * (long) itemValues[item];
+                    diff &= diff - 1;
+                }
+            }
+        }
+
+        System.arraycopy(src.genes, a, genes, d, cut);
+        int w = cut;
+        if (bit != 0) {
+            genes[d + w] = (src.genes[a + w] & cutMask) | (src.genes[b + w] & ~cutMask);
+            w++;
+        }
+        System.arraycopy(src.genes, b + w, genes, d + w, words - w);
+        totalWeight[dst] = weight;
+        totalValue[dst] = value;
+    }
+
+    // Flip each bit independently with probability mutationRate. Instead of drawing one random
+    // number per item, jump straight to the next flipped bit with a geometric skip and XOR it in.
+    // Returns the number of bits flipped.
+    public int mutate(int individual, double mutationRate, SplittableRandom rng) {
+        if (mutationRate <= 0) {
+            return 0;
+        }
+        int o = individual * words;
+        if (mutationRate >= 1) {
+            for (int w = 0; w < words; w++) {
+                genes[o + w] = ~genes[o + w];
+            }
+            genes[o + words - 1] &= lastWordMask;
+            recompute(individual);
+            return numItems;
+        }
+        double logKeep = Math.log1p(-mutationRate);
+        int flips = 0;
+        long weight = totalWeight[individual];
+        long value = totalValue[individual];
+        long item = geometricSkip(rng, logKeep, numItems);
+        while (item < numItems) {
+            int w = o + (int) (item >>> 6);
+            long bit = 1L << item;
+            genes[w] ^= bit;
+            int sign = (genes[w] & bit) != 0 ? 1 : -1;
+            weight += sign * (long) itemWeights[(int) item];
+            value += sign * (long) itemValues[(int) item];
+            flips++;
+            item += 1 + geometricSkip(rng, logKeep, numItems);
+        }
+        totalWeight[individual] = weight;
+        totalValue[individual] = value;
+        return flips;
+    }
+
+    // Number of untouched items before the next flip, Geometric(mutationRate), capped at limit.
+    // At tiny rates the uncapped skip saturates at Long.MAX_VALUE and the caller's sum would wrap.
+    private static long geometricSkip(SplittableRandom rng, double logKeep, long limit) {
+        return Math.min(limit, (long) (Math.log(1.0 - rng.nextDouble()) / logKeep));
+    }
+
+    // Item indices selected in a packed genome, e.g. for printing a solution
+    public static int[] selectedItems(long[] genome) {
+        int count = 0;
+        for (long word : genome) {
+            count += Long.bitCount(word);
+        }
+        int[] items = new int[count];
+        int k = 0;
+        for (int w = 0; w < genome.length; w++) {
+            long word = genome[w];
+            while (word != 0) {
+                items[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,59 @@
+import java.time.Duration;
+
+// Pluggable early-stopping rule for the knapsack GAs, consulted once per generation after the
+// ConvergenceTracker has been updated. maxGenerations remains the hard upper bound of a run.
+@FunctionalInterface
+public interface StoppingCriterion {
+
+    boolean shouldStop(ConvergenceTracker tracker);
+
+    // Stop after this many generations
+    static StoppingCriterion maxGenerations(int generations) {
+        return tracker -> tracker.generation() >= generations;
+    }
+
+    // Stop when the best fitness has not improved for patience generations
+    static StoppingCriterion plateau(int patience) {
+        return tracker -> tracker.stalledGenerations() >= patience;
+    }
+
+    // Stop when the population has stayed identical, in the same order, (and the best
+    // unimproved) for patience generations; this is the original KnapsackGA convergence rule,
+    // compared by hash instead of List.equals
+    static StoppingCriterion populationUnchanged(int patience) {
+        return tracker -> tracker.unchangedGenerations() >= patience;
+    }
+
+    // Stop when the fraction of distinct genomes drops below threshold
+    static StoppingCriterion diversityBelow(double threshold) {
+        return tracker -> tracker.diversity() < threshold;
+    }
+
+    // Stop once the best fitness is within a relative gap of an upper bound on the optimum, e.g.
+    // KnapsackBounds.dantzig(); gap 0 stops only on a provably optimal solution
+    static StoppingCriterion withinGap(long upperBound, double gap) {
+        long target = (long) Math.ceil((1 - gap) * upperBound);
+        return tracker -> tracker.bestFitness() >= target;
+    }
+
+    // Stop before the next generation would overrun a wall-clock budget counted from now, so
+    // create it right before the run it bounds (see Deadline)
+    static StoppingCriterion within(Duration budget) {
+        Deadline deadline = Deadline.after(budget);
+        return tracker -> deadline.expired();
+    }
+
+    // Stop when any of the given criteria says so
+    static StoppingCriterion anyOf(StoppingCriterion... criteria) {
+        return tracker -> {
+            for (StoppingCriterion criterion : criteria) {
+                if (criterion.shouldStop(tracker)) return true;
+            }
+            return false;
+        };
+    }
+
+    default StoppingCriterion or(StoppingCriterion other) {
+        return tracker -> shouldStop(tracker) || other.shouldStop(tracker);
+    }
+}
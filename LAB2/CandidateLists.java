@@ -0,0 +1,42 @@
+// The k nearest neighbours of every city, closest first, in one flat int[N * k] array.
+// Good tours almost only use short edges, so operators restricted to these candidate edges
+// search a far smaller space than fully random moves.
+public class CandidateLists {
+
+    final int k;
+    final int[] neighbors;
+
+    CandidateLists(int k, int[] neighbors) {
+        this.k = k;
+        this.neighbors = neighbors;
+    }
+
+    public static CandidateLists build(double[][] cities, int k) {
+        if (k < 0) throw new IllegalArgumentException("k must be >= 0");
+        int n = cities.length;
+        k = Math.max(0, Math.min(k, n - 1));
+        KdTree tree = new KdTree(cities);
+        int[] neighbors = new int[n * k];
+        for (int city = 0; city < n; city++) {
+            tree.nearest(city, k, neighbors, city * k);
+        }
+        return new CandidateLists(k, neighbors);
+    }
+
+    public int k() {
+        return k;
+    }
+
+    // The i-th nearest neighbour of city (0 = nearest)
+    public int neighbor(int city, int i) {
+        return neighbors[city * k + i];
+    }
+
+    public boolean isCandidate(int city, int other) {
+        int o = city * k;
+        for (int i = 0; i < k; i++) {
+            if (neighbors[o + i] == other) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.random.RandomGenerator;
+
+// Mutation and crossover for int[] tours restricted to candidate (k-nearest-neighbour) edges.
+// Scratch buffers are owned by the instance and reused, so it is not thread-safe.
+public class CandidateOperators {
+
+    private final CandidateLists candidates;
+    private final DistanceProvider distances;
+
+    private final int[] position;   // City -> index in the tour being mutated
+    private final int[] succ1;      // Successor of each city in parent 1
+    private final int[] succ2;      // Successor of each city in parent 2
+    private final boolean[] visited;
+
+    public CandidateOperators(CandidateLists candidates, DistanceProvider distances) {
+        int n = distances.size();
+        this.candidates = candidates;
+        this.distances = distances;
+        position = new int[n];
+        succ1 = new int[n];
+        succ2 = new int[n];
+        visited = new boolean[n];
+    }
+
+    // Candidate 2-opt mutation: pick a random city and one of its candidate neighbours and
+    // reverse the segment between them so the two become adjacent in the tour
+    public void mutate(int[] tour, RandomGenerator rng) {
+        int n = tour.length;
+        if (n < 4) return;
+        for (int i = 0; i < n; i++) position[tour[i]] = i;
+        int a = rng.nextInt(n);
+        int b = candidates.neighbor(a, rng.nextInt(candidates.k()));
+        int i = position[a];
+        int j = position[b];
+        if (i < j) {
+            reverse(tour, i + 1, j);   // b moves to i + 1, right after a
+        } else {
+            reverse(tour, j, i - 1);   // b moves to i - 1, right before a
+        }
+    }
+
+    static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int t = tour[from]; tour[from] = tour[to]; tour[to] = t;
+            from++;
+            to--;
+        }
+    }
+
+    // Greedy candidate-edge crossover: walk from parent1's first city, each step taking the
+    // shorter of the two parents' next edges that leads to an unvisited city and is a candidate
+    // edge; failing that the nearest unvisited candidate neighbour; failing that the next
+    // unvisited city in parent1's order. O(N * k) per child.
+    public void crossover(int[] parent1, int[] parent2, int[] child) {
+        int n = parent1.length;
+        for (int i = 0; i < n; i++) {
+            succ1[parent1[i]] = parent1[(i + 1) % n];
+            succ2[parent2[i]] = parent2[(i + 1) % n];
+            visited[i] = false;
+        }
+        int current = parent1[0];
+        child[0] = current;
+        visited[current] = true;
+        int fallback = 0; // Scan pointer into parent1 for the last-resort choice
+        for (int i = 1; i < n; i++) {
+            int next = -1;
+            double best = Double.POSITIVE_INFINITY;
+            int s1 = succ1[current];
+            if (!visited[s1] && candidates.isCandidate(current, s1)) {
+                next = s1;
+                best = distances.distance(current, s1);
+            }
+            int s2 = succ2[current];
+            if (!visited[s2] && candidates.isCandidate(current, s2) && distances.distance(current, s2) < best) {
+                next = s2;
+            }
+            if (next < 0) {
+                for (int c = 0; c < candidates.k(); c++) {
+                    int neighbor = candidates.neighbor(current, c);
+                    if (!visited[neighbor]) {
+                        next = neighbor;
+                        break;
+                    }
+                }
+            }
+            if (next < 0) {
+                while (visited[parent1[fallback]]) fallback++;
+                next = parent1[fallback];
+            }
+            child[i] = next;
+            visited[next] = true;
+            current = next;
+        }
+    }
+}
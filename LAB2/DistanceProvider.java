@@ -0,0 +1,171 @@
+import java.util.List;
+
+// Distance between two cities of a TSP instance. Tour evaluation is the innermost loop of
+// the TSP solvers, so backends trade memory for lookup cost:
+//  - matrix():    all pairs precomputed into one flat array, for small and medium N
+//  - cached():    computed on demand with an LRU cache of recently used edges, for large N
+//  - euclidean(): plain Euclidean distance computed on every call
+//  - tsplib():    TSPLIB EUC_2D, Euclidean distance rounded to the nearest integer
+public interface DistanceProvider {
+
+    // Largest instance forCities() precomputes a full matrix for (8 * N^2 bytes, 128 MB)
+    int MATRIX_LIMIT = 4096;
+
+    int size();
+
+    double distance(int a, int b);
+
+    // Provider safe to use from one more thread: itself if stateless, a fresh copy otherwise
+    default DistanceProvider forThread() {
+        return this;
+    }
+
+    // Length of the closed tour visiting cities in the given order
+    default double tourLength(int[] tour) {
+        int n = tour.length;
+        double dist = distance(tour[n - 1], tour[0]);
+        for (int i = 0; i < n - 1; i++) {
+            dist += distance(tour[i], tour[i + 1]);
+        }
+        return dist;
+    }
+
+    default double tourLength(List<Integer> tour) {
+        int n = tour.size();
+        double dist = distance(tour.get(n - 1), tour.get(0));
+        for (int i = 0; i < n - 1; i++) {
+            dist += distance(tour.get(i), tour.get(i + 1));
+        }
+        return dist;
+    }
+
+    static DistanceProvider euclidean(double[][] cities) {
+        return new Euclidean(cities, false);
+    }
+
+    static DistanceProvider tsplib(double[][] cities) {
+        return new Euclidean(cities, true);
+    }
+
+    static DistanceProvider matrix(DistanceProvider source) {
+        return new Matrix(source);
+    }
+
+    // Not thread-safe: give each thread its own cached provider
+    static DistanceProvider cached(DistanceProvider source, int capacity) {
+        return new Cached(source, capacity);
+    }
+
+    // Matrix up to MATRIX_LIMIT cities, otherwise on-demand Euclidean with an edge cache
+    static DistanceProvider forCities(double[][] cities) {
+        DistanceProvider euclidean = euclidean(cities);
+        return cities.length <= MATRIX_LIMIT ? matrix(euclidean) : cached(euclidean, 1 << 20);
+    }
+
+    class Euclidean implements DistanceProvider {
+        private final double[] x;
+        private final double[] y;
+        private final boolean rounded;
+
+        Euclidean(double[][] cities, boolean rounded) {
+            int n = cities.length;
+            x = new double[n];
+            y = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = cities[i][0];
+                y[i] = cities[i][1];
+            }
+            this.rounded = rounded;
+        }
+
+        @Override
+        public int size() {
+            return x.length;
+        }
+
+        @Override
+        public double distance(int a, int b) {
+            double dx = x[a] - x[b];
+            double dy = y[a] - y[b];
+            double d = Math.sqrt(dx * dx + dy * dy);
+            return rounded ? (int) (d + 0.5) : d;
+        }
+    }
+
+    class Matrix implements DistanceProvider {
+        private final int n;
+        private final double[] dist; // Row-major n * n
+
+        Matrix(DistanceProvider source) {
+            n = source.size();
+            dist = new double[Math.multiplyExact(n, n)];
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    double d = source.distance(a, b);
+                    dist[a * n + b] = d;
+                    dist[b * n + a] = d;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return n;
+        }
+
+        @Override
+        public double distance(int a, int b) {
+            return dist[a * n + b];
+        }
+
+        // Row-major walk of the tour with one multiply per edge
+        @Override
+        public double tourLength(int[] tour) {
+            int last = tour.length - 1;
+            double d = dist[tour[last] * n + tour[0]];
+            for (int i = 0; i < last; i++) {
+                d += dist[tour[i] * n + tour[i + 1]];
+            }
+            return d;
+        }
+    }
+
+    class Cached implements DistanceProvider {
+        private final DistanceProvider source;
+        private final LongDoubleLruCache cache;
+        private final long n;
+
+        Cached(DistanceProvider source, int capacity) {
+            this.source = source;
+            this.cache = new LongDoubleLruCache(capacity);
+            this.n = source.size();
+        }
+
+        @Override
+        public int size() {
+            return (int) n;
+        }
+
+        @Override
+        public double distance(int a, int b) {
+            if (a == b) return 0;
+            long key = a < b ? a * n + b : b * n + a;
+            double d = cache.get(key);
+            if (Double.isNaN(d)) {
+                d = source.distance(a, b);
+                cache.put(key, d);
+            }
+            return d;
+        }
+
+        // Each thread gets its own edge cache over the same source metric
+        @Override
+        public DistanceProvider forThread() {
+            return new Cached(source, cache.capacity());
+        }
+
+        public LongDoubleLruCache cache() {
+            return cache;
+        }
+    }
+}
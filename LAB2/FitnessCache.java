@@ -0,0 +1,263 @@
+// Bounded memo of tour fitness keyed by a canonical tour hash. tourKey() hashes the tour's
+// undirected edge set, so every rotation and both directions of the same cycle share one
+// entry. A lookup costs one hash pass over the route plus a table probe, with no distance
+// lookups. Because the key is a sum over edges, an engine can keep it with each route and
+// update it from only the edges an operator changes (edgeSum, rekey), so a repeated tour costs a
+// table probe. Entries hold the 64-bit key only, not the tour: two different tours whose keys
+// collide share a fitness. Two eviction policies are available:
+//  - lru():     plain least-recently-used
+//  - tinyLfu(): W-TinyLFU, a small LRU admission window in front of a segmented LRU main
+//               area, admitting window victims only if a count-min sketch says they are used
+//               more often than the main area's victim. Scan-resistant: one-off tours of a
+//               diverse population do not flush the converged elite's entries.
+public interface FitnessCache {
+
+    // Cached fitness for key, or NaN if absent
+    double get(long key);
+
+    void put(long key, double fitness);
+
+    long hits();
+
+    long misses();
+
+    default double hitRate() {
+        long total = hits() + misses();
+        return total == 0 ? 0 : hits() / (double) total;
+    }
+
+    static FitnessCache lru(int capacity) {
+        return new Lru(capacity);
+    }
+
+    static FitnessCache tinyLfu(int capacity) {
+        return new TinyLfu(capacity);
+    }
+
+    // Rotation- and direction-invariant hash of a closed tour: sum of mixed undirected edges
+    static long tourKey(int[] tour) {
+        int n = tour.length;
+        long h = 0;
+        int prev = tour[n - 1];
+        for (int i = 0; i < n; i++) {
+            int city = tour[i];
+            h += edgeKey(prev, city);
+            prev = city;
+        }
+        return h;
+    }
+
+    // Term of one undirected edge in tourKey
+    static long edgeKey(int c1, int c2) {
+        long a = Math.min(c1, c2);
+        long b = Math.max(c1, c2);
+        return mix((a << 32) | b);
+    }
+
+    // Sum of the edge terms of count consecutive edges of tour starting at edge first (edge k
+    // joins positions k and k + 1, wrapping; first may be -1). count must not exceed the tour
+    // length, so no edge is counted twice.
+    static long edgeSum(int[] tour, int first, int count) {
+        int n = tour.length;
+        int k = Math.floorMod(first, n);
+        long h = 0;
+        for (int e = 0; e < count; e++) {
+            int next = k + 1 == n ? 0 : k + 1;
+            h += edgeKey(tour[k], tour[next]);
+            k = next;
+        }
+        return h;
+    }
+
+    // Key of after given the key of before, a tour over the same cities: one int comparison per
+    // position, with edge terms mixed only where the edge at a position changed. Each changed
+    // edge costs two mixes, so past n / 2 changed edges (e.g. an OX child whose parent's cities
+    // were shifted along) the tour is simply rehashed.
+    static long rekey(long key, int[] before, int[] after) {
+        int n = before.length;
+        int changed = 0;
+        for (int k = 0; k < n; k++) {
+            int next = k + 1 == n ? 0 : k + 1;
+            if (before[k] != after[k] || before[next] != after[next]) changed++;
+        }
+        if (2 * changed > n) {
+            return tourKey(after);
+        }
+        for (int k = 0; k < n; k++) {
+            int next = k + 1 == n ? 0 : k + 1;
+            if (before[k] != after[k] || before[next] != after[next]) {
+                key += edgeKey(after[k], after[next]) - edgeKey(before[k], before[next]);
+            }
+        }
+        return key;
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    class Lru implements FitnessCache {
+        private final LongDoubleLruCache cache;
+
+        Lru(int capacity) {
+            cache = new LongDoubleLruCache(capacity);
+        }
+
+        @Override
+        public double get(long key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public void put(long key, double fitness) {
+            cache.put(key, fitness);
+        }
+
+        @Override
+        public long hits() {
+            return cache.hits();
+        }
+
+        @Override
+        public long misses() {
+            return cache.misses();
+        }
+    }
+
+    class TinyLfu implements FitnessCache {
+        private final LongDoubleLruCache window;     // ~1% of capacity, admits everything
+        private final LongDoubleLruCache probation;  // Main area entries seen once since admission
+        private final LongDoubleLruCache protectedArea; // Main area entries hit again, ~80% of main
+        private final int mainCapacity;
+        private final FrequencySketch sketch;
+        private long hits;
+        private long misses;
+
+        TinyLfu(int capacity) {
+            int windowCapacity = Math.max(1, capacity / 100);
+            mainCapacity = Math.max(1, capacity - windowCapacity);
+            window = new LongDoubleLruCache(windowCapacity);
+            probation = new LongDoubleLruCache(mainCapacity);
+            protectedArea = new LongDoubleLruCache(Math.max(1, mainCapacity * 4 / 5));
+            sketch = new FrequencySketch(capacity);
+        }
+
+        @Override
+        public double get(long key) {
+            sketch.increment(key);
+            double value = window.get(key);
+            if (Double.isNaN(value)) {
+                value = protectedArea.get(key);
+            }
+            if (Double.isNaN(value)) {
+                value = probation.get(key);
+                if (!Double.isNaN(value)) {
+                    promote(key, value);
+                }
+            }
+            if (Double.isNaN(value)) misses++; else hits++;
+            return value;
+        }
+
+        // A second hit moves a probation entry to the protected segment, demoting the protected
+        // segment's eldest entry back to probation if it is full
+        private void promote(long key, double value) {
+            probation.remove(key);
+            if (protectedArea.size() == protectedArea.capacity()) {
+                long demotedKey = protectedArea.eldestKey();
+                double demoted = protectedArea.eldestValue();
+                protectedArea.evictEldest();
+                probation.put(demotedKey, demoted);
+            }
+            protectedArea.put(key, value);
+        }
+
+        @Override
+        public void put(long key, double fitness) {
+            if (window.containsKey(key) || probation.containsKey(key) || protectedArea.containsKey(key)) {
+                return; // Fitness of a tour never changes
+            }
+            if (window.size() == window.capacity()) {
+                long candidate = window.eldestKey();
+                double candidateFitness = window.eldestValue();
+                window.evictEldest();
+                admit(candidate, candidateFitness);
+            }
+            window.put(key, fitness);
+        }
+
+        // Window victim enters the main area if there is room or it is used more often than
+        // the main area's own victim
+        private void admit(long candidate, double fitness) {
+            if (probation.size() + protectedArea.size() < mainCapacity) {
+                probation.put(candidate, fitness);
+                return;
+            }
+            LongDoubleLruCache victims = probation.size() > 0 ? probation : protectedArea;
+            long victim = victims.eldestKey();
+            if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+                victims.evictEldest();
+                probation.put(candidate, fitness);
+            }
+        }
+
+        @Override
+        public long hits() {
+            return hits;
+        }
+
+        @Override
+        public long misses() {
+            return misses;
+        }
+    }
+
+    // Count-min sketch of 4-bit saturating counters, 4 rows. Counters are halved every
+    // 10 * capacity increments so the sketch follows recent popularity.
+    class FrequencySketch {
+        private final byte[][] rows = new byte[4][];
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+            for (int r = 0; r < rows.length; r++) rows[r] = new byte[width];
+            mask = width - 1;
+            sampleSize = 10 * Math.max(16, capacity);
+        }
+
+        private int index(long key, int row) {
+            long h = mix(key + (row + 1) * 0x9E3779B97F4A7C15L);
+            return (int) h & mask;
+        }
+
+        void increment(long key) {
+            boolean added = false;
+            for (int r = 0; r < rows.length; r++) {
+                int i = index(key, r);
+                if (rows[r][i] < 15) {
+                    rows[r][i]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (byte[] row : rows) {
+                    for (int i = 0; i < row.length; i++) row[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(long key) {
+            int min = 15;
+            for (int r = 0; r < rows.length; r++) {
+                min = Math.min(min, rows[r][index(key, r)]);
+            }
+            return min;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+// Gene expression TSP algorithm on int[] routes (see TSPGeneExpression). Each route carries its
+// fitness in a parallel primitive array and is scored exactly once, when it is created:
+// elite parents keep the fitness they already had, only offspring are evaluated. Elites are
+// picked with an O(n) quickselect over an index array instead of repeated max/indexOf scans.
+// Buffers are double-buffered and reused between generations. With a FitnessCache attached,
+// offspring identical to an already scored tour (up to rotation and direction) are looked up
+// instead of re-walked. Every route then carries its FitnessCache key like its fitness: elites
+// keep theirs, and an offspring's key is updated from its parent's over only the edges that
+// crossover and mutation changed, so a repeat costs a table probe rather than a walk.
+// With an OperatorScheduler attached, each offspring is bred by one operator the scheduler
+// picks, instead of OX followed by a swap mutation at mutationRate.
+public class GeneExpressionEngine {
+
+    private final DistanceProvider distances;
+    private final int numCities;
+    private final SplitMix64Random random;
+    private final PermutationCrossover crossover;
+    private FitnessCache cache; // null = always evaluate
+    private OperatorScheduler operators; // null = OX plus swap mutation (reproducible)
+
+    private int[][] population;
+    private int[][] next;
+    private double[] fitness;
+    private double[] nextFitness;
+    private long[] keys;         // FitnessCache key per route, null without a cache
+    private long[] nextKeys;
+    private int[] order;         // Index scratch for top-k selection
+    private int popSize;
+    private int numParents;
+    private double mutationRate;
+
+    private int[] bestRoute;
+    private double bestFitness;
+    private int generation;
+
+    public GeneExpressionEngine(DistanceProvider distances, long seed) {
+        this.distances = distances;
+        this.numCities = distances.size();
+        this.random = new SplitMix64Random(seed);
+        this.crossover = new PermutationCrossover(numCities);
+    }
+
+    public GeneExpressionEngine cache(FitnessCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    // Breed offspring with adaptively scheduled operators; mutationRate is then unused, and runs
+    // are no longer reproducible from the seed since the schedule follows measured times
+    public GeneExpressionEngine operators(OperatorScheduler operators) {
+        this.operators = operators;
+        return this;
+    }
+
+    // Fitness = inverse of distance; key is the route's FitnessCache key (unused without a cache)
+    double evaluate(int[] route, long key) {
+        if (cache == null) {
+            return 1.0 / distances.tourLength(route);
+        }
+        double fitness = cache.get(key);
+        if (Double.isNaN(fitness)) {
+            fitness = 1.0 / distances.tourLength(route);
+            cache.put(key, fitness);
+        }
+        return fitness;
+    }
+
+    public void initialize(int popSize, int numParents, double mutationRate) {
+        if (numParents < 1 || numParents > popSize) {
+            throw new IllegalArgumentException("numParents must be in [1, popSize]");
+        }
+        this.popSize = popSize;
+        this.numParents = numParents;
+        this.mutationRate = mutationRate;
+        population = new int[popSize][numCities];
+        next = new int[popSize][numCities];
+        fitness = new double[popSize];
+        nextFitness = new double[popSize];
+        order = new int[popSize];
+        keys = cache == null ? null : new long[popSize];
+        nextKeys = cache == null ? null : new long[popSize];
+        bestRoute = new int[numCities];
+        bestFitness = 0;
+        generation = 0;
+        if (operators != null) {
+            operators.reset();
+        }
+        for (int i = 0; i < popSize; i++) {
+            int[] route = population[i];
+            for (int c = 0; c < numCities; c++) route[c] = c;
+            for (int c = numCities - 1; c > 0; c--) {
+                int j = random.nextInt(c + 1);
+                int t = route[c]; route[c] = route[j]; route[j] = t;
+            }
+            if (keys != null) {
+                keys[i] = FitnessCache.tourKey(route);
+            }
+            fitness[i] = evaluate(route, keys == null ? 0 : keys[i]);
+        }
+    }
+
+    // One generation: keep the top numParents routes, breed the rest; returns true if the
+    // best route improved
+    public boolean step() {
+        topK(fitness, order, popSize, numParents);
+        for (int i = 0; i < numParents; i++) {
+            System.arraycopy(population[order[i]], 0, next[i], 0, numCities);
+            nextFitness[i] = fitness[order[i]];
+            if (keys != null) {
+                nextKeys[i] = keys[order[i]];
+            }
+        }
+        if (operators != null) {
+            breedScheduled();
+        } else {
+            for (int i = numParents; i < popSize; i++) {
+                int p1 = random.nextInt(numParents);
+                crossover.ordered(next[p1], next[random.nextInt(numParents)], next[i], random);
+                inheritKey(i, p1);
+                mutate(i);
+                nextFitness[i] = evaluate(next[i], keys == null ? 0 : nextKeys[i]);
+            }
+        }
+        int[][] swapRoutes = population; population = next; next = swapRoutes;
+        double[] swapFitness = fitness; fitness = nextFitness; nextFitness = swapFitness;
+        long[] swapKeys = keys; keys = nextKeys; nextKeys = swapKeys;
+        generation++;
+
+        int best = 0;
+        for (int i = 1; i < popSize; i++) {
+            if (fitness[i] > fitness[best]) best = i;
+        }
+        if (fitness[best] > bestFitness) {
+            bestFitness = fitness[best];
+            System.arraycopy(population[best], 0, bestRoute, 0, numCities);
+            return true;
+        }
+        return false;
+    }
+
+    // Breed every offspring with one scheduled operator and credit it with the relative
+    // improvement over its (better) parent and the times taken to breed and to score it
+    private void breedScheduled() {
+        for (int i = numParents; i < popSize; i++) {
+            int[] child = next[i];
+            int arm = operators.select(random);
+            OperatorScheduler.Operator op = operators.operator(arm);
+            long start = System.nanoTime();
+            int p1 = random.nextInt(numParents);
+            double parentFitness = nextFitness[p1];
+            if (op.isCrossover()) {
+                int p2 = random.nextInt(numParents);
+                crossover.crossover(op.crossoverType(), next[p1], next[p2], child, random);
+                parentFitness = Math.max(parentFitness, nextFitness[p2]);
+                inheritKey(i, p1);
+            } else {
+                System.arraycopy(next[p1], 0, child, 0, numCities);
+                if (keys != null) {
+                    nextKeys[i] = nextKeys[p1];
+                }
+                mutate(op, i);
+            }
+            long bred = System.nanoTime();
+            double childFitness = evaluate(child, keys == null ? 0 : nextKeys[i]);
+            nextFitness[i] = childFitness;
+            operators.record(arm, Math.max(0, childFitness / parentFitness - 1), bred - start, System.nanoTime() - bred);
+        }
+        operators.endGeneration();
+    }
+
+    // Key of offspring c, bred from parent p by crossover: the parent's key updated over the
+    // positions where the two differ, or a full rehash if most of them do
+    private void inheritKey(int c, int p) {
+        if (keys != null) {
+            nextKeys[c] = FitnessCache.rekey(nextKeys[p], next[p], next[c]);
+        }
+    }
+
+    // Mutation operators work on offspring c of next and keep its key in step. Each one takes
+    // the edge terms around the positions it changes out of the key before moving cities and adds
+    // them back after; tours of fewer than 4 cities are simply rehashed.
+    private void changeKey(int c, long removed, long added) {
+        nextKeys[c] += added - removed;
+        if (numCities < 4) {
+            nextKeys[c] = FitnessCache.tourKey(next[c]);
+        }
+    }
+
+    // Mutate: swap two cities
+    private void mutate(int c) {
+        if (random.nextDouble() < mutationRate) {
+            swap(c);
+        }
+    }
+
+    private void mutate(OperatorScheduler.Operator op, int c) {
+        switch (op) {
+            case SWAP: swap(c); break;
+            case INVERSION: invert(c); break;
+            default: insert(c); break;
+        }
+    }
+
+    private void swap(int c) {
+        int[] route = next[c];
+        int i = random.nextInt(numCities);
+        int j = random.nextInt(numCities);
+        if (i == j) return;
+        long removed = keys == null ? 0 : swapEdges(route, Math.min(i, j), Math.max(i, j));
+        int t = route[i]; route[i] = route[j]; route[j] = t;
+        if (keys != null) {
+            changeKey(c, removed, swapEdges(route, Math.min(i, j), Math.max(i, j)));
+        }
+    }
+
+    // Edge terms of the (at most four) edges touching positions a < b
+    private long swapEdges(int[] route, int a, int b) {
+        if (b - a == 1) return FitnessCache.edgeSum(route, a - 1, 3);
+        if (a == 0 && b == numCities - 1) return FitnessCache.edgeSum(route, b - 1, 3);
+        return FitnessCache.edgeSum(route, a - 1, 2) + FitnessCache.edgeSum(route, b - 1, 2);
+    }
+
+    // Reverse a random segment (a 2-opt move). Edges inside the segment are only reversed, so
+    // just the two edges at its ends change.
+    private void invert(int c) {
+        int[] route = next[c];
+        int i = random.nextInt(numCities);
+        int j = random.nextInt(numCities);
+        if (i > j) { int t = i; i = j; j = t; }
+        boolean rekey = keys != null && j - i + 1 < numCities;
+        long removed = rekey ? FitnessCache.edgeSum(route, i - 1, 1) + FitnessCache.edgeSum(route, j, 1) : 0;
+        int lo = i, hi = j;
+        for (; i < j; i++, j--) {
+            int t = route[i]; route[i] = route[j]; route[j] = t;
+        }
+        if (rekey) {
+            changeKey(c, removed, FitnessCache.edgeSum(route, lo - 1, 1) + FitnessCache.edgeSum(route, hi, 1));
+        }
+    }
+
+    // Move the city at one random position to another, shifting the cities in between
+    private void insert(int c) {
+        int[] route = next[c];
+        int from = random.nextInt(numCities);
+        int to = random.nextInt(numCities);
+        int first = Math.min(from, to) - 1;
+        int count = Math.min(Math.abs(to - from) + 2, numCities);
+        long removed = keys == null ? 0 : FitnessCache.edgeSum(route, first, count);
+        int city = route[from];
+        if (from < to) {
+            System.arraycopy(route, from + 1, route, from, to - from);
+        } else {
+            System.arraycopy(route, to, route, to + 1, from - to);
+        }
+        route[to] = city;
+        if (keys != null) {
+            changeKey(c, removed, FitnessCache.edgeSum(route, first, count));
+        }
+    }
+
+    // Put the indices of the k largest keys[0..n) into order[0..k), largest first: quickselect
+    // partitions the top k to the front in O(n), then only those k are sorted, O(k log k)
+    static void topK(double[] keys, int[] order, int n, int k) {
+        for (int i = 0; i < n; i++) order[i] = i;
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            double pivot = keys[order[(lo + hi) >>> 1]];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (keys[order[i]] > pivot) i++;
+                while (keys[order[j]] < pivot) j--;
+                if (i <= j) {
+                    int t = order[i]; order[i] = order[j]; order[j] = t;
+                    i++;
+                    j--;
+                }
+            }
+            if (k - 1 <= j) hi = j;
+            else if (k - 1 >= i) lo = i;
+            else break;
+        }
+        // Heap sort of the k elites with a min-heap, leaving them largest first
+        for (int i = k / 2 - 1; i >= 0; i--) siftDown(keys, order, i, k);
+        for (int end = k - 1; end > 0; end--) {
+            int t = order[0]; order[0] = order[end]; order[end] = t;
+            siftDown(keys, order, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] keys, int[] heap, int i, int size) {
+        int idx = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+            if (keys[heap[child]] >= keys[idx]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = idx;
+    }
+
+    // Fitness of the current population, indexed like it; read-only
+    public double[] fitness() {
+        return fitness;
+    }
+
+    // Route i of the current population; read-only
+    public int[] route(int i) {
+        return population[i];
+    }
+
+    // FitnessCache key carried with route i (0 without a cache)
+    long key(int i) {
+        return keys == null ? 0 : keys[i];
+    }
+
+    public int[] bestRoute() {
+        return bestRoute;
+    }
+
+    public double bestFitness() {
+        return bestFitness;
+    }
+
+    public int generation() {
+        return generation;
+    }
+}
@@ -0,0 +1,151 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Island-model TSP GA: numIslands independent TSPEngine populations, one per worker thread.
+// Every migrationInterval generations each island sends copies of its migrationSize best tours
+// to its neighbours in the topology; immigrants replace the receiver's worst tours. Islands
+// never wait for each other: mailboxes are lock-free queues, drained at the receiver's own
+// next migration step, so there is no global lock or barrier.
+public class IslandModel {
+
+    public enum Topology {
+        RING,   // Island i sends to island i + 1
+        RANDOM, // Each migration goes to one uniformly chosen other island
+        FULL    // Every island sends to every other island
+    }
+
+    private final DistanceProvider distances;
+    private final int numIslands;
+    private final long seed;
+
+    private Topology topology = Topology.RING;
+    private int migrationInterval = 20;
+    private int migrationSize = 2;
+    private Consumer<TSPEngine> configure = engine -> { };
+
+    private TSPEngine[] islands;
+    private List<ConcurrentLinkedQueue<int[]>> mailboxes;
+
+    public IslandModel(DistanceProvider distances, int numIslands, long seed) {
+        if (numIslands < 1) throw new IllegalArgumentException("need at least one island");
+        this.distances = distances;
+        this.numIslands = numIslands;
+        this.seed = seed;
+    }
+
+    public IslandModel topology(Topology topology) {
+        this.topology = topology;
+        return this;
+    }
+
+    // Migrate size tours every interval generations (size 0 keeps the islands isolated)
+    public IslandModel migration(int interval, int size) {
+        if (interval < 1) throw new IllegalArgumentException("migration interval must be >= 1");
+        if (size < 0) throw new IllegalArgumentException("migration size must be >= 0");
+        this.migrationInterval = interval;
+        this.migrationSize = size;
+        return this;
+    }
+
+    // Applied to every island's engine, e.g. to set selection, candidates or local search
+    public IslandModel configure(Consumer<TSPEngine> configure) {
+        this.configure = configure;
+        return this;
+    }
+
+    // Run every island for the given number of generations and return the best tour found
+    public int[] run(int popSize, int generations, int numParents, double mutationRate) throws InterruptedException {
+        SplitMix64Random seeds = new SplitMix64Random(seed);
+        islands = new TSPEngine[numIslands];
+        mailboxes = new ArrayList<>(numIslands);
+        for (int i = 0; i < numIslands; i++) {
+            islands[i] = new TSPEngine(distances.forThread(), seeds.split());
+            configure.accept(islands[i]);
+            mailboxes.add(new ConcurrentLinkedQueue<>());
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(numIslands);
+        try {
+            List<Future<?>> running = new ArrayList<>(numIslands);
+            for (int i = 0; i < numIslands; i++) {
+                int island = i;
+                running.add(workers.submit(() -> evolve(island, popSize, generations, numParents, mutationRate)));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("island failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        TSPEngine best = islands[0];
+        for (TSPEngine island : islands) {
+            if (island.bestLength() < best.bestLength()) best = island;
+        }
+        return best.bestTour().clone();
+    }
+
+    private void evolve(int island, int popSize, int generations, int numParents, double mutationRate) {
+        TSPEngine engine = islands[island];
+        SplitMix64Random random = new SplitMix64Random(seed ^ (island + 1) * 0x9E3779B97F4A7C15L);
+        engine.initialize(popSize, numParents, mutationRate);
+        for (int gen = 1; gen <= generations; gen++) {
+            engine.step();
+            if (numIslands > 1 && gen % migrationInterval == 0) {
+                migrate(island, engine, random);
+            }
+        }
+    }
+
+    private void migrate(int island, TSPEngine engine, SplitMix64Random random) {
+        ConcurrentLinkedQueue<int[]> inbox = mailboxes.get(island);
+        int[] tour;
+        while ((tour = inbox.poll()) != null) {
+            engine.immigrate(tour);
+        }
+        int[][] emigrants = engine.emigrants(migrationSize);
+        switch (topology) {
+            case RING:
+                send((island + 1) % numIslands, emigrants);
+                break;
+            case RANDOM:
+                int target = random.nextInt(numIslands - 1);
+                send(target >= island ? target + 1 : target, emigrants);
+                break;
+            default:
+                for (int other = 0; other < numIslands; other++) {
+                    if (other != island) send(other, emigrants);
+                }
+                break;
+        }
+    }
+
+    // Tours are shared read-only between receivers, immigrate() copies them into its own buffers
+    private void send(int target, int[][] emigrants) {
+        ConcurrentLinkedQueue<int[]> inbox = mailboxes.get(target);
+        for (int[] tour : emigrants) {
+            inbox.offer(tour);
+        }
+    }
+
+    public double bestLength() {
+        double best = Double.POSITIVE_INFINITY;
+        for (TSPEngine island : islands) best = Math.min(best, island.bestLength());
+        return best;
+    }
+
+    // Total generations completed over all islands
+    public long totalGenerations() {
+        long total = 0;
+        for (TSPEngine island : islands) total += island.generation();
+        return total;
+    }
+}
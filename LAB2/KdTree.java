@@ -0,0 +1,144 @@
+// Static 2D k-d tree over city coordinates. The tree is implicit: a permutation of city
+// indices where each range [lo, hi) is split at its median on the axis of its depth, so it
+// needs no node objects. Used to build k-nearest-neighbour candidate lists in O(N log N).
+public class KdTree {
+
+    private final double[] x;
+    private final double[] y;
+    private final int[] index; // Implicit tree over city indices
+
+    // Scratch bounded max-heap for queries
+    private int[] heapCity = new int[0];
+    private double[] heapDist = new double[0];
+    private int heapSize;
+    private int heapCapacity;
+    private int exclude;
+
+    public KdTree(double[][] cities) {
+        int n = cities.length;
+        x = new double[n];
+        y = new double[n];
+        index = new int[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = cities[i][0];
+            y[i] = cities[i][1];
+            index[i] = i;
+        }
+        build(0, n, 0);
+    }
+
+    private double coord(int city, int axis) {
+        return axis == 0 ? x[city] : y[city];
+    }
+
+    private void build(int lo, int hi, int axis) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, axis);
+            build(lo, mid, axis ^ 1);
+            lo = mid + 1;
+            axis ^= 1;
+        }
+    }
+
+    // Quickselect: put the city with the k-th smallest coordinate at index[k]
+    private void select(int lo, int hi, int k, int axis) {
+        while (lo < hi) {
+            double pivot = coord(index[(lo + hi) >>> 1], axis);
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (coord(index[i], axis) < pivot) i++;
+                while (coord(index[j], axis) > pivot) j--;
+                if (i <= j) {
+                    int t = index[i]; index[i] = index[j]; index[j] = t;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    // The k cities nearest to city (excluding itself), closest first, written to out[offset..].
+    // Returns how many were found: fewer than k only if the tree holds k cities or less.
+    public int nearest(int city, int k, int[] out, int offset) {
+        if (k <= 0) return 0;
+        if (heapCity.length < k) {
+            heapCity = new int[k];
+            heapDist = new double[k];
+        }
+        heapSize = 0;
+        heapCapacity = k;
+        exclude = city;
+        search(0, index.length, 0, x[city], y[city]);
+        int found = heapSize;
+        // Pop the max-heap from the back so the output is sorted ascending
+        for (int i = found - 1; i >= 0; i--) {
+            out[offset + i] = heapCity[0];
+            pop();
+        }
+        return found;
+    }
+
+    private void search(int lo, int hi, int axis, double qx, double qy) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        int city = index[mid];
+        if (city != exclude) {
+            double dx = x[city] - qx;
+            double dy = y[city] - qy;
+            offer(city, dx * dx + dy * dy);
+        }
+        double delta = axis == 0 ? qx - x[city] : qy - y[city];
+        int nearLo = delta < 0 ? lo : mid + 1;
+        int nearHi = delta < 0 ? mid : hi;
+        int farLo = delta < 0 ? mid + 1 : lo;
+        int farHi = delta < 0 ? hi : mid;
+        search(nearLo, nearHi, axis ^ 1, qx, qy);
+        if (heapSize < heapCapacity || delta * delta < heapDist[0]) {
+            search(farLo, farHi, axis ^ 1, qx, qy);
+        }
+    }
+
+    private void offer(int city, double dist) {
+        if (heapSize < heapCapacity) {
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapDist[parent] >= dist) break;
+                heapCity[i] = heapCity[parent];
+                heapDist[i] = heapDist[parent];
+                i = parent;
+            }
+            heapCity[i] = city;
+            heapDist[i] = dist;
+        } else if (dist < heapDist[0]) {
+            siftDown(city, dist);
+        }
+    }
+
+    private void pop() {
+        heapSize--;
+        if (heapSize > 0) {
+            siftDown(heapCity[heapSize], heapDist[heapSize]);
+        }
+    }
+
+    // Place (city, dist) at the root and sift it down the max-heap
+    private void siftDown(int city, double dist) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapDist[child + 1] > heapDist[child]) child++;
+            if (heapDist[child] <= dist) break;
+            heapCity[i] = heapCity[child];
+            heapDist[i] = heapDist[child];
+            i = child;
+        }
+        heapCity[i] = city;
+        heapDist[i] = dist;
+    }
+}
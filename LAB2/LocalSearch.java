@@ -0,0 +1,227 @@
+// 2-opt and Or-opt local search for int[] tours.
+//  - Every move is scored in O(1) from the four or six edge lengths it changes.
+//  - Only candidate (nearest-neighbour) edges are tried, so scanning a city is O(k).
+//  - Don't-look bits: a city is only rescanned after one of its tour neighbours changed.
+// Applying a 2-opt move reverses the shorter side of the tour; Or-opt moves a segment of up
+// to three cities with block reversals. Scratch buffers are reused, so it is not thread-safe.
+public class LocalSearch {
+
+    private static final double EPS = 1e-9;
+    private static final int MAX_SEGMENT = 3;
+
+    private final DistanceProvider distances;
+    private final CandidateLists candidates;
+    private final int n;
+
+    private final int[] position;   // City -> index in the tour
+    private final int[] queue;      // Circular queue of cities whose don't-look bit is off
+    private final boolean[] queued;
+    private int head;
+    private int count;
+
+    private int[] tour;
+    private long movesApplied;
+
+    public LocalSearch(DistanceProvider distances, CandidateLists candidates) {
+        this.distances = distances;
+        this.candidates = candidates;
+        this.n = distances.size();
+        position = new int[n];
+        queue = new int[n];
+        queued = new boolean[n];
+    }
+
+    // Improve the tour in place until it is 2-opt and Or-opt optimal over the candidate edges
+    // or maxMoves improving moves have been applied (maxMoves <= 0 = no limit). Returns the
+    // change in tour length (<= 0).
+    public double optimize(int[] tour, int maxMoves) {
+        if (n < 5) return 0;
+        this.tour = tour;
+        head = 0;
+        count = 0;
+        for (int i = 0; i < n; i++) {
+            position[tour[i]] = i;
+            queued[i] = false;
+        }
+        for (int i = 0; i < n; i++) push(tour[i]);
+
+        double gain = 0;
+        int moves = 0;
+        while (count > 0 && (maxMoves <= 0 || moves < maxMoves)) {
+            int city = pop();
+            double delta = twoOpt(city);
+            if (delta == 0) delta = orOpt(city);
+            if (delta < 0) {
+                gain += delta;
+                moves++;
+                push(city); // Rescan until it yields nothing
+            }
+        }
+        movesApplied += moves;
+        return gain;
+    }
+
+    private void push(int city) {
+        if (!queued[city]) {
+            queued[city] = true;
+            queue[(head + count++) % n] = city;
+        }
+    }
+
+    private int pop() {
+        int city = queue[head];
+        head = (head + 1) % n;
+        count--;
+        queued[city] = false;
+        return city;
+    }
+
+    private int succ(int city) {
+        int p = position[city] + 1;
+        return tour[p == n ? 0 : p];
+    }
+
+    private int pred(int city) {
+        int p = position[city] - 1;
+        return tour[p < 0 ? n - 1 : p];
+    }
+
+    private double d(int a, int b) {
+        return distances.distance(a, b);
+    }
+
+    // First improving 2-opt move replacing a tour edge at a with a candidate edge (a, c)
+    private double twoOpt(int a) {
+        for (int dir = 0; dir < 2; dir++) {
+            int b = dir == 0 ? succ(a) : pred(a);
+            double ab = d(a, b);
+            for (int k = 0; k < candidates.k(); k++) {
+                int c = candidates.neighbor(a, k);
+                double ac = d(a, c);
+                if (ac >= ab) break; // Candidates are sorted, no later one can gain
+                int e = dir == 0 ? succ(c) : pred(c);
+                if (c == b || e == a) continue;
+                double delta = ac + d(b, e) - ab - d(c, e);
+                if (delta < -EPS) {
+                    // Successor case: a b ... c e -> a c ... b e; predecessor case mirrors it
+                    if (dir == 0) reverse(position[b], position[c]);
+                    else reverse(position[c], position[b]);
+                    push(b);
+                    push(c);
+                    push(e);
+                    return delta;
+                }
+            }
+        }
+        return 0;
+    }
+
+    // First improving Or-opt move: a segment of 1..3 cities starting at s1 moved next to one of
+    // s1's candidate neighbours, in either orientation
+    private double orOpt(int s1) {
+        int i = position[s1];
+        for (int len = 1; len <= MAX_SEGMENT; len++) {
+            int j = (i + len - 1) % n;
+            int se = tour[j];
+            int p = pred(s1);
+            int nx = succ(se);
+            if (nx == p) break; // Segment plus its neighbours cover the whole tour
+            double removeGain = d(p, s1) + d(se, nx) - d(p, nx);
+            for (int k = 0; k < candidates.k(); k++) {
+                int c = candidates.neighbor(s1, k);
+                if (d(s1, c) >= removeGain) break;
+                if (inSegment(c, i, len)) continue;
+                // Forward after c: c s1..se succ(c)
+                int x = c, y = succ(c);
+                if (x != p && !inSegment(y, i, len)) {
+                    double delta = d(x, s1) + d(se, y) - d(x, y) - removeGain;
+                    if (delta < -EPS) {
+                        moveSegment(i, len, x, false);
+                        touch(p, nx, s1, se, x, y);
+                        return delta;
+                    }
+                }
+                // Reversed before c: pred(c) se..s1 c
+                x = pred(c);
+                y = c;
+                if (x != p && !inSegment(x, i, len)) {
+                    double delta = d(x, se) + d(s1, y) - d(x, y) - removeGain;
+                    if (delta < -EPS) {
+                        moveSegment(i, len, x, true);
+                        touch(p, nx, s1, se, x, y);
+                        return delta;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void touch(int a, int b, int c, int d, int e, int f) {
+        push(a); push(b); push(c); push(d); push(e); push(f);
+    }
+
+    private boolean inSegment(int city, int start, int len) {
+        int offset = position[city] - start;
+        if (offset < 0) offset += n;
+        return offset < len;
+    }
+
+    // Move the segment tour[start .. start + len) (cyclic) to just after city x, reversed or
+    // not, as a swap of two adjacent blocks done with three reversals. Whichever block between
+    // the segment and x is shorter (after x going forward, or before the segment) is used.
+    private void moveSegment(int start, int len, int x, boolean reversed) {
+        int end = (start + len - 1) % n;
+        int forward = position[x] - end;           // Cities from just after the segment to x
+        if (forward < 0) forward += n;
+        int backward = start - position[x] - 1;    // Cities from after x to just before the segment
+        if (backward < 0) backward += n;
+        if (forward <= backward) {
+            // [segment][after .. x] -> [after .. x][segment]
+            reverseExact(start, len);
+            reverseExact((end + 1) % n, forward);
+            reverseExact(start, len + forward);
+            if (reversed) reverseExact((start + forward) % n, len);
+        } else {
+            // [after x .. before segment][segment] -> [segment][after x .. before segment]
+            int from = (position[x] + 1) % n;
+            reverseExact(from, backward);
+            reverseExact(start, len);
+            reverseExact(from, backward + len);
+            if (reversed) reverseExact(from, len);
+        }
+    }
+
+    // Reverse the tour between positions from and to inclusive (cyclic). Reversing the
+    // complementary side gives the same cyclic tour, so the shorter side is reversed.
+    private void reverse(int from, int to) {
+        int len = to - from;
+        if (len < 0) len += n;
+        len++;
+        if (2 * len > n) {
+            from = (to + 1) % n;
+            len = n - len;
+        }
+        reverseExact(from, len);
+    }
+
+    // Reverse exactly the len positions starting at from (cyclic)
+    private void reverseExact(int from, int len) {
+        int i = from;
+        int j = (from + len - 1) % n;
+        for (int s = 0; s < len / 2; s++) {
+            int a = tour[i];
+            int b = tour[j];
+            tour[i] = b;
+            position[b] = i;
+            tour[j] = a;
+            position[a] = j;
+            if (++i == n) i = 0;
+            if (--j < 0) j = n - 1;
+        }
+    }
+
+    public long movesApplied() {
+        return movesApplied;
+    }
+}
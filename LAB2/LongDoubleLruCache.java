@@ -0,0 +1,186 @@
+import java.util.Arrays;
+
+// Fixed-capacity LRU map from long keys to double values held entirely in primitive arrays:
+// entries live in slots [0, capacity), chained into hash buckets and into one doubly linked
+// recency list. get() and put() are O(1) and never allocate. Not thread-safe.
+public class LongDoubleLruCache {
+
+    private static final int NONE = -1;
+
+    private final int capacity;
+    private final long[] keys;
+    private final double[] values;
+    private final int[] chain;      // Next slot in the same bucket
+    private final int[] newer;      // Recency list towards the head (most recent)
+    private final int[] older;      // Recency list towards the tail (least recent)
+    private final int[] buckets;    // Bucket -> first slot
+    private final int mask;
+
+    private int size;
+    private int head = NONE;
+    private int tail = NONE;
+    private long hits;
+    private long misses;
+
+    public LongDoubleLruCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        this.capacity = capacity;
+        keys = new long[capacity];
+        values = new double[capacity];
+        chain = new int[capacity];
+        newer = new int[capacity];
+        older = new int[capacity];
+        int bucketCount = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        buckets = new int[bucketCount];
+        Arrays.fill(buckets, NONE);
+        mask = bucketCount - 1;
+    }
+
+    private int bucket(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int find(long key) {
+        for (int s = buckets[bucket(key)]; s != NONE; s = chain[s]) {
+            if (keys[s] == key) return s;
+        }
+        return NONE;
+    }
+
+    // Cached value, or NaN if absent. A hit makes the entry most recently used.
+    public double get(long key) {
+        int s = find(key);
+        if (s == NONE) {
+            misses++;
+            return Double.NaN;
+        }
+        hits++;
+        touch(s);
+        return values[s];
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) != NONE;
+    }
+
+    // Insert or overwrite; when full, the least recently used entry is evicted
+    public void put(long key, double value) {
+        int s = find(key);
+        if (s == NONE) {
+            if (size < capacity) {
+                s = size++;
+            } else {
+                s = tail;
+                unlink(s);
+                unchain(s);
+            }
+            keys[s] = key;
+            int b = bucket(key);
+            chain[s] = buckets[b];
+            buckets[b] = s;
+            linkHead(s);
+        } else {
+            touch(s);
+        }
+        values[s] = value;
+    }
+
+    // Remove the least recently used entry and return its key; the cache must not be empty
+    public long evictEldest() {
+        int s = tail;
+        if (s == NONE) throw new IllegalStateException("cache is empty");
+        long key = keys[s];
+        remove(key);
+        return key;
+    }
+
+    public long eldestKey() {
+        if (tail == NONE) throw new IllegalStateException("cache is empty");
+        return keys[tail];
+    }
+
+    public double eldestValue() {
+        if (tail == NONE) throw new IllegalStateException("cache is empty");
+        return values[tail];
+    }
+
+    public boolean remove(long key) {
+        int s = find(key);
+        if (s == NONE) return false;
+        unlink(s);
+        unchain(s);
+        // Keep slots dense: move the last slot into the hole
+        int last = --size;
+        if (s != last) {
+            int b = bucket(keys[last]);
+            if (buckets[b] == last) {
+                buckets[b] = s;
+            } else {
+                int p = buckets[b];
+                while (chain[p] != last) p = chain[p];
+                chain[p] = s;
+            }
+            keys[s] = keys[last];
+            values[s] = values[last];
+            chain[s] = chain[last];
+            newer[s] = newer[last];
+            older[s] = older[last];
+            if (newer[s] != NONE) older[newer[s]] = s; else head = s;
+            if (older[s] != NONE) newer[older[s]] = s; else tail = s;
+        }
+        return true;
+    }
+
+    private void touch(int s) {
+        if (s != head) {
+            unlink(s);
+            linkHead(s);
+        }
+    }
+
+    private void linkHead(int s) {
+        newer[s] = NONE;
+        older[s] = head;
+        if (head != NONE) newer[head] = s;
+        head = s;
+        if (tail == NONE) tail = s;
+    }
+
+    private void unlink(int s) {
+        if (newer[s] != NONE) older[newer[s]] = older[s]; else head = older[s];
+        if (older[s] != NONE) newer[older[s]] = newer[s]; else tail = newer[s];
+    }
+
+    private void unchain(int s) {
+        int b = bucket(keys[s]);
+        if (buckets[b] == s) {
+            buckets[b] = chain[s];
+            return;
+        }
+        int p = buckets[b];
+        while (chain[p] != s) p = chain[p];
+        chain[p] = chain[s];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+}
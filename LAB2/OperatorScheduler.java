@@ -0,0 +1,232 @@
+import java.util.random.RandomGenerator;
+
+// Adaptive operator selection for GeneExpressionEngine. Every offspring is bred by a single
+// operator from a pool: a mutation of one elite (swap, inversion, insertion) or a crossover of two
+// (OX, PMX, CX). After each offspring is scored, the engine credits its operator with
+//  - gain:  relative tour improvement over the parent, or over the better parent for a crossover,
+//           0 if the offspring is no better
+//  - nanos: time spent creating the offspring, plus the generation's mean scoring time. Scoring
+//           is charged at the same mean to every operator, so an operator is not made to look
+//           cheap by breeding duplicates that the FitnessCache answers without a tour walk.
+// Operators are chosen by adaptive probability matching, a multi-armed bandit suited to rewards
+// that drift as the population converges. Each generation, every operator's quality moves toward
+// its gain per nanosecond with an exponential recency weight (adaptation). Selection
+// probabilities follow the qualities, but never drop below minProbability, so an operator that
+// pays off late in the run is still tried. Until some operator has a quality above 0, every
+// operator is equally likely.
+//
+// Times are wall-clock System.nanoTime() deltas on the breeding thread, which is that thread's
+// CPU time while it is not preempted. The per-thread CPU clock (ThreadMXBean) is more accurate
+// but costs about a microsecond a read, more than a small tour's evaluation. Since the choices
+// depend on measured times, runs with the same seed are not bit-reproducible with a scheduler
+// attached, which is why the engine and its drivers only use one when asked to.
+// One scheduler serves one engine; not thread-safe.
+public class OperatorScheduler {
+
+    public enum Operator {
+        SWAP, INVERSION, INSERTION, OX, PMX, CX;
+
+        public boolean isCrossover() {
+            return this == OX || this == PMX || this == CX;
+        }
+
+        PermutationCrossover.Type crossoverType() {
+            return this == OX ? PermutationCrossover.Type.OX
+                    : this == PMX ? PermutationCrossover.Type.PMX : PermutationCrossover.Type.CX;
+        }
+    }
+
+    private final Operator[] operators;
+    private double minProbability;
+    private double adaptation = 0.1;
+
+    private final double[] quality;
+    private final double[] probability;
+    private final double[] cumulative;
+
+    // Per operator, this generation
+    private final double[] generationGain;
+    private final long[] generationNanos; // Variation only
+    private final int[] generationUses;
+    private long generationScoringNanos;  // All operators
+    private int generationScored;
+
+    // Per operator, whole run
+    private final long[] uses;
+    private final long[] improvements;
+    private final double[] totalGain;
+    private final long[] totalNanos;
+
+    private OperatorScheduler(Operator... operators) {
+        if (operators.length == 0) throw new IllegalArgumentException("empty operator pool");
+        this.operators = operators.clone();
+        int n = operators.length;
+        this.minProbability = 0.2 / n;
+        quality = new double[n];
+        probability = new double[n];
+        cumulative = new double[n];
+        generationGain = new double[n];
+        generationNanos = new long[n];
+        generationUses = new int[n];
+        uses = new long[n];
+        improvements = new long[n];
+        totalGain = new double[n];
+        totalNanos = new long[n];
+        reset();
+    }
+
+    // Scheduler over the given operators
+    public static OperatorScheduler of(Operator... operators) {
+        return new OperatorScheduler(operators);
+    }
+
+    // Scheduler over every operator
+    public static OperatorScheduler all() {
+        return new OperatorScheduler(Operator.values());
+    }
+
+    // Lowest selection probability of any operator (default 0.2 / pool size)
+    public OperatorScheduler minProbability(double minProbability) {
+        if (minProbability < 0 || minProbability * operators.length > 1) {
+            throw new IllegalArgumentException("minProbability must be in [0, 1 / pool size]");
+        }
+        this.minProbability = minProbability;
+        return this;
+    }
+
+    // Weight of the latest generation in each operator's quality (default 0.1)
+    public OperatorScheduler adaptation(double adaptation) {
+        if (adaptation <= 0 || adaptation > 1) throw new IllegalArgumentException("adaptation must be in (0, 1]");
+        this.adaptation = adaptation;
+        return this;
+    }
+
+    // Start a run: forget qualities and stats
+    void reset() {
+        int n = operators.length;
+        for (int i = 0; i < n; i++) {
+            quality[i] = 0;
+            generationGain[i] = 0;
+            generationNanos[i] = 0;
+            generationUses[i] = 0;
+            uses[i] = improvements[i] = totalNanos[i] = 0;
+            totalGain[i] = 0;
+        }
+        generationScoringNanos = 0;
+        generationScored = 0;
+        updateProbabilities();
+    }
+
+    int size() {
+        return operators.length;
+    }
+
+    Operator operator(int arm) {
+        return operators[arm];
+    }
+
+    // Draw the operator (as a pool index) for the next offspring
+    int select(RandomGenerator rng) {
+        double r = rng.nextDouble();
+        int last = operators.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (r < cumulative[i]) return i;
+        }
+        return last;
+    }
+
+    // Credit one offspring to its operator, given the times spent breeding and scoring it
+    void record(int arm, double gain, long variationNanos, long scoringNanos) {
+        uses[arm]++;
+        generationUses[arm]++;
+        if (gain > 0) {
+            improvements[arm]++;
+            generationGain[arm] += gain;
+            totalGain[arm] += gain;
+        }
+        generationNanos[arm] += variationNanos;
+        generationScoringNanos += scoringNanos;
+        generationScored++;
+    }
+
+    // Fold the generation's rewards into the qualities and re-derive the probabilities. An
+    // operator not drawn this generation keeps its quality. Qualities decayed below the normal
+    // double range are flushed to 0; the decay would otherwise stall on subnormals whose ratios
+    // are meaningless.
+    void endGeneration() {
+        double scoring = generationScored == 0 ? 0 : (double) generationScoringNanos / generationScored;
+        for (int i = 0; i < operators.length; i++) {
+            long nanos = generationNanos[i] + Math.round(generationUses[i] * scoring);
+            totalNanos[i] += nanos;
+            if (nanos > 0) {
+                double reward = generationGain[i] / nanos;
+                quality[i] += adaptation * (reward - quality[i]);
+                if (quality[i] < Double.MIN_NORMAL) quality[i] = 0;
+            }
+            generationGain[i] = 0;
+            generationNanos[i] = 0;
+            generationUses[i] = 0;
+        }
+        generationScoringNanos = 0;
+        generationScored = 0;
+        updateProbabilities();
+    }
+
+    private void updateProbabilities() {
+        int n = operators.length;
+        double sum = 0;
+        for (int i = 0; i < n; i++) sum += quality[i];
+        double share = 1 - n * minProbability;
+        double acc = 0;
+        for (int i = 0; i < n; i++) {
+            probability[i] = sum > 0 ? minProbability + share * quality[i] / sum : 1.0 / n;
+            acc += probability[i];
+            cumulative[i] = acc;
+        }
+    }
+
+    private int arm(Operator operator) {
+        for (int i = 0; i < operators.length; i++) {
+            if (operators[i] == operator) return i;
+        }
+        throw new IllegalArgumentException(operator + " is not in the pool");
+    }
+
+    // Offspring bred by operator this run
+    public long uses(Operator operator) {
+        return uses[arm(operator)];
+    }
+
+    // Offspring that beat their parent
+    public long improvements(Operator operator) {
+        return improvements[arm(operator)];
+    }
+
+    // Relative improvement delivered per nanosecond over the whole run
+    public double gainPerNanosecond(Operator operator) {
+        int i = arm(operator);
+        return totalNanos[i] == 0 ? 0 : totalGain[i] / totalNanos[i];
+    }
+
+    // Mean time charged per offspring: its breeding time plus the mean scoring time
+    public double nanosPerUse(Operator operator) {
+        int i = arm(operator);
+        return uses[i] == 0 ? Double.NaN : (double) totalNanos[i] / uses[i];
+    }
+
+    // Current selection probability
+    public double probability(Operator operator) {
+        return probability[arm(operator)];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("operator      uses  improved   ns/use  gain/us     prob");
+        for (int i = 0; i < operators.length; i++) {
+            Operator op = operators[i];
+            sb.append(String.format("%n%-9s %8d %9d %8.0f %8.4f %8.3f", op, uses[i], improvements[i],
+                    nanosPerUse(op), 1000 * gainPerNanosecond(op), probability[i]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,104 @@
+import java.util.random.RandomGenerator;
+
+// O(n) crossover operators for int[] permutations: ordered (OX), partially mapped (PMX) and
+// cycle (CX). Membership is tracked in a reusable bitmap and positions in a reusable index,
+// so no operator allocates or calls contains(). Not thread-safe.
+public class PermutationCrossover {
+
+    public enum Type { OX, PMX, CX }
+
+    private final long[] used;    // Bitmap over cities (OX, PMX) or positions (CX)
+    private final int[] position; // City -> index in parent1
+
+    public PermutationCrossover(int numCities) {
+        used = new long[(numCities + 63) >>> 6];
+        position = new int[numCities];
+    }
+
+    public void crossover(Type type, int[] parent1, int[] parent2, int[] child, RandomGenerator rng) {
+        switch (type) {
+            case OX: ordered(parent1, parent2, child, rng); break;
+            case PMX: partiallyMapped(parent1, parent2, child, rng); break;
+            default: cycle(parent1, parent2, child); break;
+        }
+    }
+
+    private void clearUsed() {
+        for (int w = 0; w < used.length; w++) used[w] = 0;
+    }
+
+    private boolean isUsed(int i) {
+        return (used[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private void markUsed(int i) {
+        used[i >>> 6] |= 1L << i;
+    }
+
+    // Ordered crossover: copy a random slice of parent1, fill the rest with parent2's cities
+    // in order, starting after the slice
+    public void ordered(int[] parent1, int[] parent2, int[] child, RandomGenerator rng) {
+        int n = parent1.length;
+        int start = rng.nextInt(n);
+        int end = rng.nextInt(n);
+        if (start > end) { int t = start; start = end; end = t; }
+
+        clearUsed();
+        for (int i = start; i <= end; i++) {
+            child[i] = parent1[i];
+            markUsed(parent1[i]);
+        }
+        int pos = (end + 1) % n;
+        for (int i = 0; i < n; i++) {
+            int city = parent2[(end + 1 + i) % n];
+            if (!isUsed(city)) {
+                child[pos] = city;
+                pos = (pos + 1) % n;
+            }
+        }
+    }
+
+    // Partially mapped crossover: copy a random slice of parent1; every other position takes
+    // parent2's city, following the slice mapping parent1[i] -> parent2[i] while that city is
+    // already in the slice
+    public void partiallyMapped(int[] parent1, int[] parent2, int[] child, RandomGenerator rng) {
+        int n = parent1.length;
+        int start = rng.nextInt(n);
+        int end = rng.nextInt(n);
+        if (start > end) { int t = start; start = end; end = t; }
+
+        clearUsed();
+        for (int i = 0; i < n; i++) position[parent1[i]] = i;
+        for (int i = start; i <= end; i++) {
+            child[i] = parent1[i];
+            markUsed(parent1[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            if (i >= start && i <= end) continue;
+            int city = parent2[i];
+            while (isUsed(city)) {
+                city = parent2[position[city]];
+            }
+            child[i] = city;
+        }
+    }
+
+    // Cycle crossover: split positions into the cycles of the parent1 -> parent2 mapping and
+    // take alternate cycles from each parent, so every city keeps a parent's position
+    public void cycle(int[] parent1, int[] parent2, int[] child) {
+        int n = parent1.length;
+        clearUsed();
+        for (int i = 0; i < n; i++) position[parent1[i]] = i;
+        boolean fromFirst = true;
+        for (int start = 0; start < n; start++) {
+            if (isUsed(start)) continue;
+            int i = start;
+            do {
+                markUsed(i);
+                child[i] = fromFirst ? parent1[i] : parent2[i];
+                i = position[parent2[i]];
+            } while (i != start);
+            fromFirst = !fromFirst;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+import java.util.random.RandomGenerator;
+
+// Parent selection for the TSP GAs. prepare() builds a sampling structure over the primitive
+// fitness array once per generation (higher fitness = fitter), then select() draws parents
+// from it. Buffers are grown on demand and reused across generations.
+public interface SelectionStrategy {
+
+    // Build the sampler for this generation's fitness scores fitness[0..size)
+    void prepare(double[] fitness, int size);
+
+    // Draw count parent indices into out[0..count)
+    void select(int[] out, int count, RandomGenerator rng);
+
+    // Fitness-proportionate selection, O(log n) per draw by binary search on prefix sums
+    static SelectionStrategy roulette() {
+        return new Roulette();
+    }
+
+    // Fitness-proportionate selection, O(1) per draw with a Walker alias table
+    static SelectionStrategy alias() {
+        return new Alias();
+    }
+
+    // Best of k uniformly drawn individuals, O(k) per draw and no preparation
+    static SelectionStrategy tournament(int k) {
+        return new Tournament(k);
+    }
+
+    // Fitness-proportionate with a single spin and count evenly spaced pointers, O(n + count)
+    static SelectionStrategy stochasticUniversal() {
+        return new StochasticUniversal();
+    }
+
+    class Roulette implements SelectionStrategy {
+        private double[] prefix = new double[0];
+        private int size;
+
+        @Override
+        public void prepare(double[] fitness, int size) {
+            if (prefix.length < size) prefix = new double[size];
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                total += fitness[i];
+                prefix[i] = total;
+            }
+            this.size = size;
+        }
+
+        @Override
+        public void select(int[] out, int count, RandomGenerator rng) {
+            double total = prefix[size - 1];
+            for (int i = 0; i < count; i++) {
+                out[i] = total > 0 ? search(rng.nextDouble() * total) : rng.nextInt(size);
+            }
+        }
+
+        // First index whose cumulative fitness reaches r
+        private int search(double r) {
+            int lo = 0, hi = size - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (prefix[mid] >= r) hi = mid; else lo = mid + 1;
+            }
+            return lo;
+        }
+    }
+
+    class Alias implements SelectionStrategy {
+        private double[] prob = new double[0];
+        private int[] alias = new int[0];
+        private int[] work = new int[0];
+        private int size;
+        private boolean uniform;
+
+        // Vose's construction: split scaled probabilities into small (< 1) and large (>= 1)
+        // worklists, then pair each small column with a large donor
+        @Override
+        public void prepare(double[] fitness, int size) {
+            if (prob.length < size) {
+                prob = new double[size];
+                alias = new int[size];
+                work = new int[size];
+            }
+            this.size = size;
+            double total = 0;
+            for (int i = 0; i < size; i++) total += fitness[i];
+            uniform = !(total > 0);
+            if (uniform) return;
+
+            int small = 0, large = size;  // small grows up from 0, large grows down from size
+            double scale = size / total;
+            for (int i = 0; i < size; i++) {
+                prob[i] = fitness[i] * scale;
+                if (prob[i] < 1.0) work[small++] = i; else work[--large] = i;
+            }
+            while (small > 0 && large < size) {
+                int s = work[--small];
+                int l = work[large++];
+                alias[s] = l;
+                prob[l] = (prob[l] + prob[s]) - 1.0;
+                if (prob[l] < 1.0) work[small++] = l; else work[--large] = l;
+            }
+            // Leftovers are 1 up to rounding error
+            while (large < size) prob[work[large++]] = 1.0;
+            while (small > 0) prob[work[--small]] = 1.0;
+        }
+
+        @Override
+        public void select(int[] out, int count, RandomGenerator rng) {
+            for (int i = 0; i < count; i++) {
+                int column = rng.nextInt(size);
+                out[i] = uniform || rng.nextDouble() < prob[column] ? column : alias[column];
+            }
+        }
+    }
+
+    class Tournament implements SelectionStrategy {
+        private final int k;
+        private double[] fitness;
+        private int size;
+
+        Tournament(int k) {
+            if (k < 1) throw new IllegalArgumentException("tournament size must be >= 1");
+            this.k = k;
+        }
+
+        @Override
+        public void prepare(double[] fitness, int size) {
+            this.fitness = fitness;
+            this.size = size;
+        }
+
+        @Override
+        public void select(int[] out, int count, RandomGenerator rng) {
+            for (int i = 0; i < count; i++) {
+                int best = rng.nextInt(size);
+                for (int j = 1; j < k; j++) {
+                    int challenger = rng.nextInt(size);
+                    if (fitness[challenger] > fitness[best]) best = challenger;
+                }
+                out[i] = best;
+            }
+        }
+    }
+
+    class StochasticUniversal implements SelectionStrategy {
+        private double[] fitness;
+        private int size;
+        private double total;
+
+        @Override
+        public void prepare(double[] fitness, int size) {
+            this.fitness = fitness;
+            this.size = size;
+            double sum = 0;
+            for (int i = 0; i < size; i++) sum += fitness[i];
+            this.total = sum;
+        }
+
+        @Override
+        public void select(int[] out, int count, RandomGenerator rng) {
+            if (!(total > 0)) {
+                for (int i = 0; i < count; i++) out[i] = rng.nextInt(size);
+                return;
+            }
+            double step = total / count;
+            double pointer = rng.nextDouble() * step;
+            double cumulative = fitness[0];
+            int j = 0;
+            for (int i = 0; i < count; i++) {
+                while (cumulative < pointer && j < size - 1) {
+                    cumulative += fitness[++j];
+                }
+                out[i] = j;
+                pointer += step;
+            }
+            // Pointers walk the wheel in order; shuffle so mates are not paired by position
+            for (int i = count - 1; i > 0; i--) {
+                int r = rng.nextInt(i + 1);
+                int t = out[i]; out[i] = out[r]; out[r] = t;
+            }
+        }
+    }
+}
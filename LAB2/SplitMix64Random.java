@@ -0,0 +1,35 @@
+import java.util.random.RandomGenerator;
+
+// Small SplitMix64 generator whose whole state is one long, so it can be reseeded, saved and
+// restored without allocating. Not thread-safe: give each thread (or island) its own.
+public class SplitMix64Random implements RandomGenerator {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix64Random(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GOLDEN);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long state() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    // Seed for an independent child generator, e.g. one per worker or island
+    public long split() {
+        return nextLong() ^ 0x6A09E667F3BCC909L;
+    }
+}
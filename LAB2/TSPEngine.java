@@ -0,0 +1,323 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Allocation-free TSP genetic algorithm on int[] tours. Same scheme as TSPGeneticAlgorithm
+// (select parents, breed offspring with crossover + mutation, new population = parents +
+// offspring) but the population is double-buffered: every tour array, fitness array and
+// scratch buffer is allocated once in initialize() and reused, so a steady-state generation
+// allocates nothing.
+//
+// Optional memetic mode runs 2-opt / Or-opt local search on a fraction of the offspring.
+//
+// run() can checkpoint periodically and resume from a checkpoint; the random generator's
+// whole state is one long, so a resumed run continues exactly like the uninterrupted one.
+public class TSPEngine {
+
+    static final int CHECKPOINT_MAGIC = 0x43505354; // "TSPC" read little-endian
+
+    private final DistanceProvider distances;
+    private final int numCities;
+    private final SplitMix64Random random;
+
+    private SelectionStrategy selection = SelectionStrategy.roulette();
+    private PermutationCrossover.Type crossoverType = PermutationCrossover.Type.OX;
+    private final PermutationCrossover crossover;
+    private CandidateOperators candidateOperators; // null = swap mutation, permutation crossover
+    private LocalSearch localSearch;               // null = plain GA
+    private int localSearchMoves;
+    private double localSearchFraction;
+
+    // Double-buffered population
+    private int[][] population;
+    private int[][] next;
+    private double[] lengths;
+    private double[] nextLengths;
+    private double[] fitness;     // 1 / length, what selection samples from
+    private int[] picks;
+    private int popSize;
+    private int numParents;
+    private double mutationRate;
+
+    private int[] bestTour;
+    private double bestLength = Double.POSITIVE_INFINITY;
+    private int generation;
+    private int unchangedGenerations;
+
+    private Duration budget;            // null = no wall-clock limit on run()
+    private Incumbent<int[]> incumbent; // null = no best-so-far publishing
+    private Checkpoint checkpoint; // null = no periodic snapshots
+    private Path resumeFrom;       // Checkpoint to continue from on the next run
+
+    public TSPEngine(DistanceProvider distances, long seed) {
+        this.distances = distances;
+        this.numCities = distances.size();
+        this.random = new SplitMix64Random(seed);
+        this.crossover = new PermutationCrossover(numCities);
+    }
+
+    public TSPEngine selection(SelectionStrategy selection) {
+        this.selection = selection;
+        return this;
+    }
+
+    public TSPEngine crossover(PermutationCrossover.Type type) {
+        this.crossoverType = type;
+        return this;
+    }
+
+    // Restrict mutation and crossover to candidate edges
+    public TSPEngine candidates(CandidateLists candidates) {
+        this.candidateOperators = candidates == null ? null : new CandidateOperators(candidates, distances);
+        return this;
+    }
+
+    // Memetic mode: improve each offspring with probability fraction by local search over the
+    // candidate edges, applying at most maxMoves improving moves (<= 0 = to a local optimum)
+    public TSPEngine localSearch(CandidateLists candidates, int maxMoves, double fraction) {
+        this.localSearch = new LocalSearch(distances, candidates);
+        this.localSearchMoves = maxMoves;
+        this.localSearchFraction = fraction;
+        return this;
+    }
+
+    // Anytime mode: also end run() before the next generation would overrun budget
+    public TSPEngine deadline(Duration budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    // Offer every new best tour to incumbent while the engine runs
+    public TSPEngine incumbent(Incumbent<int[]> incumbent) {
+        this.incumbent = incumbent;
+        return this;
+    }
+
+    // Snapshot run() to path every interval generations (written off-thread)
+    public TSPEngine checkpoint(Path path, int interval) {
+        this.checkpoint = new Checkpoint(path, CHECKPOINT_MAGIC, interval);
+        return this;
+    }
+
+    // Continue the run saved at path on the next run() call, which must use the same instance,
+    // population size, parents and mutation rate
+    public TSPEngine resume(Path path) {
+        this.resumeFrom = path;
+        return this;
+    }
+
+    // Allocate both population buffers and fill the current one with random permutations
+    public void initialize(int popSize, int numParents, double mutationRate) {
+        allocate(popSize, numParents, mutationRate);
+        for (int i = 0; i < popSize; i++) {
+            int[] tour = population[i];
+            for (int c = 0; c < numCities; c++) tour[c] = c;
+            for (int c = numCities - 1; c > 0; c--) {
+                int j = random.nextInt(c + 1);
+                int t = tour[c]; tour[c] = tour[j]; tour[j] = t;
+            }
+            improve(tour);
+            lengths[i] = distances.tourLength(tour);
+        }
+        updateBest();
+    }
+
+    private void allocate(int popSize, int numParents, double mutationRate) {
+        if (numParents < 1 || numParents > popSize) {
+            throw new IllegalArgumentException("numParents must be in [1, popSize]");
+        }
+        this.popSize = popSize;
+        this.numParents = numParents;
+        this.mutationRate = mutationRate;
+        population = new int[popSize][numCities];
+        next = new int[popSize][numCities];
+        lengths = new double[popSize];
+        nextLengths = new double[popSize];
+        fitness = new double[popSize];
+        picks = new int[numParents];
+        bestTour = new int[numCities];
+        bestLength = Double.POSITIVE_INFINITY;
+        generation = 0;
+        unchangedGenerations = 0;
+    }
+
+    // One generation; returns true if the best tour improved
+    public boolean step() {
+        for (int i = 0; i < popSize; i++) fitness[i] = 1.0 / lengths[i];
+        selection.prepare(fitness, popSize);
+        selection.select(picks, numParents, random);
+        for (int i = 0; i < numParents; i++) {
+            System.arraycopy(population[picks[i]], 0, next[i], 0, numCities);
+            nextLengths[i] = lengths[picks[i]];
+        }
+
+        for (int i = numParents; i < popSize; i++) {
+            int[] parent1 = next[random.nextInt(numParents)];
+            int[] parent2 = next[random.nextInt(numParents)];
+            int[] child = next[i];
+            if (candidateOperators != null) {
+                candidateOperators.crossover(parent1, parent2, child);
+            } else {
+                crossover.crossover(crossoverType, parent1, parent2, child, random);
+            }
+            if (random.nextDouble() < mutationRate) {
+                mutate(child);
+            }
+            improve(child);
+            nextLengths[i] = distances.tourLength(child);
+        }
+
+        int[][] swapTours = population; population = next; next = swapTours;
+        double[] swapLengths = lengths; lengths = nextLengths; nextLengths = swapLengths;
+        generation++;
+        return updateBest();
+    }
+
+    private void improve(int[] tour) {
+        if (localSearch != null && random.nextDouble() < localSearchFraction) {
+            localSearch.optimize(tour, localSearchMoves);
+        }
+    }
+
+    private void mutate(int[] tour) {
+        if (candidateOperators != null) {
+            candidateOperators.mutate(tour, random);
+        } else {
+            int i = random.nextInt(numCities);
+            int j = random.nextInt(numCities);
+            int t = tour[i]; tour[i] = tour[j]; tour[j] = t;
+        }
+    }
+
+    private boolean updateBest() {
+        int best = 0;
+        for (int i = 1; i < popSize; i++) {
+            if (lengths[i] < lengths[best]) best = i;
+        }
+        if (lengths[best] < bestLength) {
+            bestLength = lengths[best];
+            System.arraycopy(population[best], 0, bestTour, 0, numCities);
+            if (incumbent != null) {
+                incumbent.offer(bestTour.clone(), bestLength, generation);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // Replace the current worst tour with a copy of an incoming one
+    public void immigrate(int[] tour) {
+        int worst = 0;
+        for (int i = 1; i < popSize; i++) {
+            if (lengths[i] > lengths[worst]) worst = i;
+        }
+        System.arraycopy(tour, 0, population[worst], 0, numCities);
+        lengths[worst] = distances.tourLength(population[worst]);
+        updateBest();
+    }
+
+    // Copies of the count shortest tours of the current population
+    public int[][] emigrants(int count) {
+        count = Math.min(count, popSize);
+        int[][] out = new int[count][];
+        int[] chosen = new int[count];
+        for (int k = 0; k < count; k++) {
+            int best = -1;
+            for (int i = 0; i < popSize; i++) {
+                if (contains(chosen, k, i)) continue;
+                if (best < 0 || lengths[i] < lengths[best]) best = i;
+            }
+            chosen[k] = best;
+            out[k] = population[best].clone();
+        }
+        return out;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    // Run until maxGenerations, patience generations without improvement or the deadline
+    public int[] run(int popSize, int maxGenerations, int numParents, double mutationRate, int patience) {
+        Deadline deadline = budget == null ? null : Deadline.after(budget);
+        if (resumeFrom != null) {
+            restore(popSize, numParents, mutationRate);
+            if (incumbent != null) {
+                incumbent.offer(bestTour.clone(), bestLength, generation);
+            }
+        } else {
+            initialize(popSize, numParents, mutationRate);
+        }
+        while (generation < maxGenerations) {
+            unchangedGenerations = step() ? 0 : unchangedGenerations + 1;
+            if (checkpoint != null && checkpoint.due(generation)) {
+                saveCheckpoint();
+            }
+            if (unchangedGenerations >= patience || deadline != null && deadline.expired()) {
+                break;
+            }
+        }
+        if (checkpoint != null) {
+            checkpoint.await();
+        }
+        return bestTour.clone();
+    }
+
+    // Snapshot: random state, run shape, counters, best tour, then every tour and its length
+    private void saveCheckpoint() {
+        ByteBuffer out = checkpoint.begin(44 + Integer.BYTES * numCities * (popSize + 1) + Double.BYTES * popSize);
+        if (out == null) {
+            return;
+        }
+        out.putLong(random.state()).putInt(numCities).putInt(popSize).putInt(numParents).putDouble(mutationRate)
+                .putInt(generation).putInt(unchangedGenerations).putDouble(bestLength);
+        Checkpoint.put(out, bestTour, numCities);
+        for (int[] tour : population) {
+            Checkpoint.put(out, tour, numCities);
+        }
+        Checkpoint.put(out, lengths, popSize);
+        checkpoint.commit(out);
+    }
+
+    private void restore(int popSize, int numParents, double mutationRate) {
+        ByteBuffer in;
+        try {
+            in = Checkpoint.read(resumeFrom, CHECKPOINT_MAGIC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long state = in.getLong();
+        if (in.getInt() != numCities || in.getInt() != popSize || in.getInt() != numParents
+                || in.getDouble() != mutationRate) {
+            throw new IllegalArgumentException(resumeFrom + " was saved by a run with different parameters");
+        }
+        allocate(popSize, numParents, mutationRate);
+        random.setState(state);
+        generation = in.getInt();
+        unchangedGenerations = in.getInt();
+        bestLength = in.getDouble();
+        Checkpoint.get(in, bestTour, numCities);
+        for (int[] tour : population) {
+            Checkpoint.get(in, tour, numCities);
+        }
+        Checkpoint.get(in, lengths, popSize);
+        resumeFrom = null;
+    }
+
+    public int[] bestTour() {
+        return bestTour;
+    }
+
+    public double bestLength() {
+        return bestLength;
+    }
+
+    public int generation() {
+        return generation;
+    }
+}
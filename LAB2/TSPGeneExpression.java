@@ -10,21 +10,29 @@ public class TSPGeneExpression {
         {15, 25}, {25, 10}, {30, 20}, {22, 30}, {35, 5}
     };
 
-    // Calculate Euclidean distance
+    // Distances between cities, precomputed into a matrix for small instances
+    static DistanceProvider distances = DistanceProvider.forCities(cities);
+
+    // Memo of already scored tours (null = evaluate every offspring). Only kept when distances are
+    // computed on demand: a matrix-backed walk is n table loads, which costs no more than the
+    // probe. Keys are 64-bit edge-set hashes and the tours themselves are not stored, so two
+    // distinct tours with colliding keys would share a fitness. With 16k entries kept that takes
+    // about 1e15 lookups to become likely.
+    static FitnessCache fitnessCache = distances instanceof DistanceProvider.Matrix ? null
+            : FitnessCache.tinyLfu(1 << 14);
+
+    // Operator pool scheduled by improvement per nanosecond, set by --adaptive (null = OX plus
+    // swap mutation at mutationRate). Runs with it ignore mutationRate and are not reproducible.
+    static OperatorScheduler operators = null;
+
+    // Euclidean distance (a table lookup for matrix-backed instances)
     public static double distance(int c1, int c2) {
-        double dx = cities[c1][0] - cities[c2][0];
-        double dy = cities[c1][1] - cities[c2][1];
-        return Math.sqrt(dx * dx + dy * dy);
+        return distances.distance(c1, c2);
     }
 
     // Calculate total tour distance
     public static double tourDistance(List<Integer> route) {
-        double dist = 0;
-        for (int i = 0; i < route.size() - 1; i++) {
-            dist += distance(route.get(i), route.get(i + 1));
-        }
-        dist += distance(route.get(route.size() - 1), route.get(0));
-        return dist;
+        return distances.tourLength(route);
     }
 
     // Fitness = inverse of distance
@@ -55,13 +63,16 @@ public class TSPGeneExpression {
         return scores;
     }
 
-    // Select top individuals
+    // Select top individuals (best first) with a quickselect over the scores; scores is not modified
     public static List<List<Integer>> selectParents(List<List<Integer>> population, List<Double> scores, int numParents) {
-        List<List<Integer>> parents = new ArrayList<>();
+        double[] keys = new double[scores.size()];
+        for (int i = 0; i < keys.length; i++) keys[i] = scores.get(i);
+        int[] order = new int[keys.length];
+        GeneExpressionEngine.topK(keys, order, keys.length, numParents);
+
+        List<List<Integer>> parents = new ArrayList<>(numParents);
         for (int i = 0; i < numParents; i++) {
-            int bestIndex = scores.indexOf(Collections.max(scores));
-            parents.add(population.get(bestIndex));
-            scores.set(bestIndex, -1.0); // prevent reselection
+            parents.add(population.get(order[i]));
         }
         return parents;
     }
@@ -98,39 +109,34 @@ public class TSPGeneExpression {
         return mutated;
     }
 
-    // Main GEA loop
+    // Main GEA loop. Runs on GeneExpressionEngine, which scores every route once when it is
+    // created and keeps elites with their fitness, instead of re-evaluating the population twice
+    // per generation. Offspring are bred by the operators scheduler when one is set.
     public static List<Integer> geneExpressionAlgorithm(int popSize, int numGenerations, int numParents, double mutationRate) {
-        int numCities = cities.length;
-        List<List<Integer>> population = initializePopulation(popSize, numCities);
-        List<Integer> bestRoute = null;
-        double bestFitness = 0;
+        GeneExpressionEngine engine = new GeneExpressionEngine(distances, random.nextLong())
+                .cache(fitnessCache)
+                .operators(operators);
+        engine.initialize(popSize, numParents, mutationRate);
+        Telemetry telemetry = Telemetry.global();
+        telemetry.beginRun("TSPGeneExpression");
 
         for (int gen = 0; gen < numGenerations; gen++) {
-            List<Double> scores = evaluateFitness(population);
-            List<List<Integer>> parents = selectParents(population, new ArrayList<>(scores), numParents);
-
-            List<List<Integer>> offspring = new ArrayList<>();
-            while (offspring.size() < popSize - numParents) {
-                List<Integer> p1 = parents.get(random.nextInt(parents.size()));
-                List<Integer> p2 = parents.get(random.nextInt(parents.size()));
-                List<Integer> child = crossover(p1, p2);
-                offspring.add(mutate(child, mutationRate));
-            }
-
-            population.clear();
-            population.addAll(parents);
-            population.addAll(offspring);
-
-            scores = evaluateFitness(population);
-            double currentBest = Collections.max(scores);
-            if (currentBest > bestFitness) {
-                bestFitness = currentBest;
-                bestRoute = population.get(scores.indexOf(currentBest));
+            telemetry.beginGeneration();
+            engine.step();
+            telemetry.phase(Telemetry.Phase.VARY);
+
+            // Reported as tour distances (1 / fitness)
+            if (telemetry.enabled()) {
+                double[] fitness = engine.fitness();
+                double sum = 0;
+                for (int i = 0; i < popSize; i++) sum += 1 / fitness[i];
+                telemetry.endGeneration(gen + 1, 1 / engine.bestFitness(), sum / popSize,
+                        1 / Telemetry.min(fitness, popSize), Double.NaN, popSize - numParents);
             }
-
-            System.out.printf("Generation %d: Best Distance = %.4f%n", gen + 1, 1 / bestFitness);
         }
 
+        List<Integer> bestRoute = new ArrayList<>(cities.length);
+        for (int city : engine.bestRoute()) bestRoute.add(city);
         return bestRoute;
     }
 
@@ -142,7 +148,17 @@ public class TSPGeneExpression {
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--adaptive")) {
+            operators = OperatorScheduler.all(); // mutationRate below is then unused
+        }
         List<Integer> best = geneExpressionAlgorithm(50, 100, 10, 0.2);
         printRoute(best);
+        if (fitnessCache != null) {
+            System.out.printf("Fitness cache: %d hits, %d misses (%.1f%% hit rate)%n",
+                    fitnessCache.hits(), fitnessCache.misses(), 100 * fitnessCache.hitRate());
+        }
+        if (operators != null) {
+            System.out.println(operators);
+        }
     }
 }
\ No newline at end of file
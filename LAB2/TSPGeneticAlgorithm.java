@@ -1,3 +1,7 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -7,6 +11,9 @@ public class TSPGeneticAlgorithm {
 
     private static Random random = new Random();
 
+    // Parent selection strategy (roulette by default)
+    static SelectionStrategy selection = SelectionStrategy.roulette();
+
     // Coordinates of cities (x,y)
     static double[][] cities = {
         {0, 0},
@@ -17,22 +24,41 @@ public class TSPGeneticAlgorithm {
         {7, 9}
     };
 
-    // Calculate Euclidean distance between two cities
+    // Distances between cities, precomputed into a matrix for small instances
+    static DistanceProvider distances = DistanceProvider.forCities(cities);
+
+    // k-nearest-neighbour candidate edges; when set, mutation and crossover only create
+    // candidate edges (null = classic OX and random swap)
+    static CandidateLists candidates;
+    static CandidateOperators candidateOperators;
+
+    // Number of candidate neighbours kept per city for loaded instances
+    static final int NUM_CANDIDATES = 10;
+
+    // Replace the built-in cities with a TSPLIB instance and build its candidate lists
+    public static TsplibInstance loadInstance(Path path) throws IOException {
+        TsplibInstance instance = TsplibInstance.read(path);
+        cities = instance.cities;
+        distances = instance.distances();
+        useCandidates(NUM_CANDIDATES);
+        return instance;
+    }
+
+    // Restrict mutation and crossover to the k nearest neighbours of each city
+    public static void useCandidates(int k) {
+        candidates = CandidateLists.build(cities, k);
+        candidateOperators = new CandidateOperators(candidates, distances);
+    }
+
+    // Euclidean distance between two cities (a table lookup for matrix-backed instances)
     public static double distance(int city1, int city2) {
-        double dx = cities[city1][0] - cities[city2][0];
-        double dy = cities[city1][1] - cities[city2][1];
-        return Math.sqrt(dx * dx + dy * dy);
+        return distances.distance(city1, city2);
     }
 
-    // Calculate total tour distance for a given individual (order of cities)
+    // Calculate total tour distance for a given individual (order of cities), including the
+    // return to the start city
     public static double tourDistance(List<Integer> individual) {
-        double dist = 0;
-        for (int i = 0; i < individual.size() - 1; i++) {
-            dist += distance(individual.get(i), individual.get(i + 1));
-        }
-        // Return to start city to complete the tour
-        dist += distance(individual.get(individual.size() - 1), individual.get(0));
-        return dist;
+        return distances.tourLength(individual);
     }
 
     // Fitness = inverse of tour distance (shorter tours are fitter)
@@ -63,28 +89,40 @@ public class TSPGeneticAlgorithm {
         return fitnessScores;
     }
 
+    // Calculate fitness for entire population into a primitive array
+    public static void calculateFitness(List<List<Integer>> population, double[] fitnessScores) {
+        for (int i = 0; i < population.size(); i++) {
+            fitnessScores[i] = fitness(population.get(i));
+        }
+    }
+
     // Roulette wheel selection for parents
     public static List<List<Integer>> selectMatingPool(List<List<Integer>> population, List<Double> fitnessScores, int numParents) {
-        double totalFitness = 0;
-        for (double f : fitnessScores) totalFitness += f;
-
-        List<List<Integer>> parents = new ArrayList<>();
-        for (int i = 0; i < numParents; i++) {
-            double r = random.nextDouble() * totalFitness;
-            double cumulative = 0;
-            for (int j = 0; j < population.size(); j++) {
-                cumulative += fitnessScores.get(j);
-                if (r <= cumulative) {
-                    parents.add(population.get(j));
-                    break;
-                }
-            }
+        double[] scores = new double[fitnessScores.size()];
+        for (int i = 0; i < scores.length; i++) scores[i] = fitnessScores.get(i);
+        return selectMatingPool(population, scores, numParents);
+    }
+
+    // Select parents with the configured strategy: the sampler is built once per generation
+    public static List<List<Integer>> selectMatingPool(List<List<Integer>> population, double[] fitnessScores, int numParents) {
+        selection.prepare(fitnessScores, population.size());
+        int[] picks = new int[numParents];
+        selection.select(picks, numParents, random);
+
+        List<List<Integer>> parents = new ArrayList<>(numParents);
+        for (int pick : picks) {
+            parents.add(population.get(pick));
         }
         return parents;
     }
 
-    // Ordered Crossover (OX) for permutations
+    // Ordered Crossover (OX) for permutations, or candidate-edge crossover if enabled
     public static List<Integer> crossover(List<Integer> parent1, List<Integer> parent2) {
+        if (candidateOperators != null) {
+            int[] child = new int[parent1.size()];
+            candidateOperators.crossover(toArray(parent1), toArray(parent2), child);
+            return toList(child);
+        }
         int size = parent1.size();
         List<Integer> child = new ArrayList<>(Collections.nCopies(size, -1));
 
@@ -99,15 +137,17 @@ public class TSPGeneticAlgorithm {
         }
 
         // Copy a slice from parent1
+        boolean[] inChild = new boolean[size];
         for (int i = start; i <= end; i++) {
             child.set(i, parent1.get(i));
+            inChild[parent1.get(i)] = true;
         }
 
         // Fill remaining positions with parent2 in order
         int currentPos = (end + 1) % size;
         for (int i = 0; i < size; i++) {
             int city = parent2.get((end + 1 + i) % size);
-            if (!child.contains(city)) {
+            if (!inChild[city]) {
                 child.set(currentPos, city);
                 currentPos = (currentPos + 1) % size;
             }
@@ -127,15 +167,21 @@ public class TSPGeneticAlgorithm {
         return offspring;
     }
 
-    // Mutation by swapping two cities
+    // Mutation by swapping two cities, or a candidate 2-opt move if candidates are enabled
     public static List<List<Integer>> mutate(List<List<Integer>> population, double mutationRate) {
         List<List<Integer>> mutatedPop = new ArrayList<>();
         for (List<Integer> individual : population) {
             List<Integer> mutated = new ArrayList<>(individual);
             if (random.nextDouble() < mutationRate) {
-                int i = random.nextInt(mutated.size());
-                int j = random.nextInt(mutated.size());
-                Collections.swap(mutated, i, j);
+                if (candidateOperators != null) {
+                    int[] tour = toArray(mutated);
+                    candidateOperators.mutate(tour, random);
+                    mutated = toList(tour);
+                } else {
+                    int i = random.nextInt(mutated.size());
+                    int j = random.nextInt(mutated.size());
+                    Collections.swap(mutated, i, j);
+                }
             }
             mutatedPop.add(mutated);
         }
@@ -148,16 +194,33 @@ public class TSPGeneticAlgorithm {
     }
 
     public static List<Integer> geneticAlgorithm(int popSize, int maxGenerations, int numParents, double mutationRate, int patience) {
+        return geneticAlgorithm(popSize, maxGenerations, numParents, mutationRate, patience, null, null);
+    }
+
+    // Anytime variant: also stops before the next generation would overrun budget (if not null),
+    // and offers every new best tour to incumbent (if not null) as soon as it is found
+    public static List<Integer> geneticAlgorithm(int popSize, int maxGenerations, int numParents, double mutationRate, int patience,
+                                                 Duration budget, Incumbent<List<Integer>> incumbent) {
+        Deadline deadline = budget == null ? null : Deadline.after(budget);
         int numCities = cities.length;
         List<List<Integer>> population = initializePopulation(popSize, numCities);
-        List<Double> fitnessScores = calculateFitness(population);
+        double[] fitnessScores = new double[popSize];
+        calculateFitness(population, fitnessScores);
 
         int unchangedGenerations = 0;
-        double bestFitness = Collections.max(fitnessScores);
-        List<Integer> bestIndividual = population.get(fitnessScores.indexOf(bestFitness));
+        int bestIndex = argMax(fitnessScores);
+        double bestFitness = fitnessScores[bestIndex];
+        List<Integer> bestIndividual = population.get(bestIndex);
+        if (incumbent != null) {
+            incumbent.offer(List.copyOf(bestIndividual), 1 / bestFitness, 0);
+        }
+        Telemetry telemetry = Telemetry.global();
+        telemetry.beginRun("TSPGeneticAlgorithm");
 
         for (int gen = 0; gen < maxGenerations; gen++) {
+            telemetry.beginGeneration();
             List<List<Integer>> parents = selectMatingPool(population, fitnessScores, numParents);
+            telemetry.phase(Telemetry.Phase.SELECT);
             List<List<Integer>> offspring = crossover(parents, popSize - numParents);
             offspring = mutate(offspring, mutationRate);
 
@@ -165,29 +228,108 @@ public class TSPGeneticAlgorithm {
             population.clear();
             population.addAll(parents);
             population.addAll(offspring);
+            telemetry.phase(Telemetry.Phase.VARY);
 
-            fitnessScores = calculateFitness(population);
-            double currentBestFitness = Collections.max(fitnessScores);
-            List<Integer> currentBestIndividual = population.get(fitnessScores.indexOf(currentBestFitness));
+            calculateFitness(population, fitnessScores);
+            telemetry.phase(Telemetry.Phase.EVALUATE);
+            int currentBestIndex = argMax(fitnessScores);
+            double currentBestFitness = fitnessScores[currentBestIndex];
+            List<Integer> currentBestIndividual = population.get(currentBestIndex);
 
             if (currentBestFitness > bestFitness) {
                 bestFitness = currentBestFitness;
                 bestIndividual = currentBestIndividual;
                 unchangedGenerations = 0;
+                if (incumbent != null) {
+                    incumbent.offer(List.copyOf(bestIndividual), 1 / bestFitness, gen + 1);
+                }
             } else {
                 unchangedGenerations++;
             }
+            telemetry.phase(Telemetry.Phase.UPDATE);
 
-            System.out.printf("Generation %d: Best distance=%.4f%n", gen + 1, 1 / bestFitness);
+            // Reported as tour distances (1 / fitness)
+            if (telemetry.enabled()) {
+                double sum = 0;
+                for (double score : fitnessScores) sum += 1 / score;
+                telemetry.endGeneration(gen + 1, 1 / bestFitness, sum / popSize,
+                        1 / Telemetry.min(fitnessScores, popSize), Double.NaN, popSize);
+            }
 
             if (unchangedGenerations >= patience) {
                 System.out.printf("Converged after %d generations.%n", gen + 1);
                 break;
             }
+            if (deadline != null && deadline.expired()) {
+                break;
+            }
         }
         return bestIndividual;
     }
 
+    private static int argMax(double[] scores) {
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best]) best = i;
+        }
+        return best;
+    }
+
+    // Same GA on the allocation-free int[] engine
+    public static List<Integer> geneticAlgorithmPrimitive(int popSize, int maxGenerations, int numParents, double mutationRate, int patience) {
+        TSPEngine engine = new TSPEngine(distances, random.nextLong())
+                .selection(selection)
+                .candidates(candidates);
+        return toList(checkpointed(engine).run(popSize, maxGenerations, numParents, mutationRate, patience));
+    }
+
+    // Memetic GA: the int[] engine with 2-opt / Or-opt applied to a fraction of the offspring
+    public static List<Integer> geneticAlgorithmMemetic(int popSize, int maxGenerations, int numParents, double mutationRate, int patience,
+                                                        int localSearchMoves, double localSearchFraction) {
+        if (candidates == null) {
+            useCandidates(NUM_CANDIDATES);
+        }
+        TSPEngine engine = new TSPEngine(distances, random.nextLong())
+                .selection(selection)
+                .candidates(candidates)
+                .localSearch(candidates, localSearchMoves, localSearchFraction);
+        return toList(checkpointed(engine).run(popSize, maxGenerations, numParents, mutationRate, patience));
+    }
+
+    // Checkpoint to the -Dcheckpoint file, resuming from it first if it already exists
+    static TSPEngine checkpointed(TSPEngine engine) {
+        Path path = Checkpoint.configuredPath();
+        if (path == null) {
+            return engine;
+        }
+        if (Files.exists(path)) {
+            engine.resume(path);
+        }
+        return engine.checkpoint(path, Checkpoint.configuredInterval());
+    }
+
+    // Island model: one engine per worker thread exchanging best tours over a ring
+    public static List<Integer> geneticAlgorithmIslands(int numIslands, int popSize, int maxGenerations, int numParents, double mutationRate,
+                                                        int migrationInterval, int migrationSize) throws InterruptedException {
+        IslandModel islands = new IslandModel(distances, numIslands, random.nextLong())
+                .topology(IslandModel.Topology.RING)
+                .migration(migrationInterval, migrationSize)
+                .configure(engine -> engine.selection(SelectionStrategy.tournament(3)).candidates(candidates));
+        return toList(islands.run(popSize, maxGenerations, numParents, mutationRate));
+    }
+
+    static int[] toArray(List<Integer> tour) {
+        int[] array = new int[tour.size()];
+        for (int i = 0; i < array.length; i++) array[i] = tour.get(i);
+        return array;
+    }
+
+    static List<Integer> toList(int[] tour) {
+        List<Integer> list = new ArrayList<>(tour.length);
+        for (int city : tour) list.add(city);
+        return list;
+    }
+
     public static void printTour(List<Integer> tour) {
         System.out.println("Best tour found:");
         for (int city : tour) {
@@ -198,7 +340,44 @@ public class TSPGeneticAlgorithm {
         System.out.printf("Total distance: %.4f%n", tourDistance(tour));
     }
 
-    public static void main(String[] args) {
+    // Solve many TSPLIB files in this JVM, one memetic TspSolver each, printing every result as
+    // soon as it finishes
+    public static void solveBatch(List<Path> files) throws IOException {
+        List<TspSolver> solvers = new ArrayList<>(files.size());
+        for (Path file : files) {
+            solvers.add(new TspSolver(TsplibInstance.read(file), random.nextLong()));
+        }
+        BatchRunner.printAll(solvers);
+    }
+
+    // Anytime solve: run the memetic GA until the budget is spent, printing each improvement
+    // as it is published
+    public static Solution<int[]> solveWithin(TsplibInstance instance, Duration budget) {
+        return Incumbent.printing(instance.name(), incumbent -> new TspSolver(instance, random.nextLong())
+                .generations(Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .within(budget)
+                .incumbent(incumbent)
+                .solve());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 2 && args[0].equals("--within")) {
+            Duration budget = Duration.ofMillis(Long.parseLong(args[1]));
+            System.out.println(solveWithin(TsplibInstance.read(Path.of(args[2])), budget));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--batch")) {
+            List<Path> files = new ArrayList<>();
+            for (int i = 1; i < args.length; i++) files.add(Path.of(args[i]));
+            solveBatch(files);
+            return;
+        }
+        if (args.length > 0) {
+            TsplibInstance instance = loadInstance(Path.of(args[0]));
+            List<Integer> bestTour = geneticAlgorithmMemetic(30, 200, 10, 0.5, 20, 0, 0.2);
+            System.out.printf("%s: %d cities, Total distance: %.4f%n", instance.name(), instance.size(), tourDistance(bestTour));
+            return;
+        }
         List<Integer> bestTour = geneticAlgorithm(20, 500, 10, 0.2, 50);
         printTour(bestTour);
     }
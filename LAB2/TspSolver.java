@@ -0,0 +1,153 @@
+import java.time.Duration;
+import java.util.function.Consumer;
+
+// Solver for one TSP instance with no static state: every solve() builds its own engine on a
+// thread-private view of the distances, so any number of these can share a JVM through
+// BatchRunner. The solution is the best tour and the objective its length.
+//  - GENETIC:         TSPEngine with candidate-list mutation
+//  - MEMETIC:         TSPEngine plus 2-opt / Or-opt on a fraction of the offspring (default)
+//  - GENE_EXPRESSION: GeneExpressionEngine for a fixed number of generations, optionally breeding
+//                     with adaptively scheduled operators
+// Defaults match the instance-file run of TSPGeneticAlgorithm.
+public class TspSolver implements Solver<int[]> {
+
+    public enum Method { GENETIC, MEMETIC, GENE_EXPRESSION }
+
+    private final String name;
+    private final double[][] cities;
+    private final DistanceProvider distances;
+    private final long seed;
+
+    private Method method = Method.MEMETIC;
+    private int popSize = 30;
+    private int numParents = 10;
+    private int maxGenerations = 200;
+    private int patience = 20;
+    private double mutationRate = 0.5;
+    private int numCandidates = TSPGeneticAlgorithm.NUM_CANDIDATES;
+    private boolean adaptiveOperators = false;
+    private int localSearchMoves = 0;
+    private double localSearchFraction = 0.2;
+    private Duration budget;            // null = no wall-clock limit
+    private Incumbent<int[]> incumbent;
+    private Consumer<TSPEngine> configure = engine -> { };
+
+    public TspSolver(TsplibInstance instance, long seed) {
+        this(instance.name(), instance.cities(), instance.distances(), seed);
+    }
+
+    public TspSolver(String name, double[][] cities, long seed) {
+        this(name, cities, DistanceProvider.forCities(cities), seed);
+    }
+
+    public TspSolver(String name, double[][] cities, DistanceProvider distances, long seed) {
+        this.name = name;
+        this.cities = cities;
+        this.distances = distances;
+        this.seed = seed;
+    }
+
+    public TspSolver method(Method method) {
+        this.method = method;
+        return this;
+    }
+
+    public TspSolver population(int popSize, int numParents) {
+        this.popSize = popSize;
+        this.numParents = numParents;
+        return this;
+    }
+
+    // Stop after maxGenerations, or once the best tour is unchanged for patience generations
+    // (the gene expression method always runs maxGenerations)
+    public TspSolver generations(int maxGenerations, int patience) {
+        this.maxGenerations = maxGenerations;
+        this.patience = patience;
+        return this;
+    }
+
+    public TspSolver mutationRate(double mutationRate) {
+        this.mutationRate = mutationRate;
+        return this;
+    }
+
+    // Nearest-neighbour candidates per city for mutation and local search, 0 for none
+    public TspSolver candidates(int k) {
+        this.numCandidates = k;
+        return this;
+    }
+
+    // GENE_EXPRESSION only: schedule the operator pool by improvement per nanosecond instead of
+    // breeding with OX plus swap mutation at mutationRate (default). The schedule follows measured
+    // times, so with it on solve() no longer repeats the same run for a seed.
+    public TspSolver adaptiveOperators(boolean adaptive) {
+        this.adaptiveOperators = adaptive;
+        return this;
+    }
+
+    public TspSolver localSearch(int maxMoves, double fraction) {
+        this.localSearchMoves = maxMoves;
+        this.localSearchFraction = fraction;
+        return this;
+    }
+
+    // Anytime mode: also stop before the next generation would overrun budget
+    public TspSolver within(Duration budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    // Offer every new best tour to incumbent while solving; the caller closes it
+    public TspSolver incumbent(Incumbent<int[]> incumbent) {
+        this.incumbent = incumbent;
+        return this;
+    }
+
+    // Extra TSPEngine settings applied to each fresh engine, e.g. e -> e.selection(...)
+    public TspSolver configure(Consumer<TSPEngine> configure) {
+        this.configure = configure;
+        return this;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Solution<int[]> solve() {
+        long start = System.nanoTime();
+        DistanceProvider local = distances.forThread();
+        if (method == Method.GENE_EXPRESSION) {
+            Deadline deadline = budget == null ? null : Deadline.after(budget);
+            GeneExpressionEngine engine = new GeneExpressionEngine(local, seed)
+                    .operators(adaptiveOperators ? OperatorScheduler.all() : null);
+            engine.initialize(popSize, numParents, mutationRate);
+            for (int gen = 0; gen < maxGenerations; gen++) {
+                if (engine.step() && incumbent != null) {
+                    incumbent.offer(engine.bestRoute().clone(), 1 / engine.bestFitness(), engine.generation());
+                }
+                if (deadline != null && deadline.expired()) {
+                    break;
+                }
+            }
+            int[] route = engine.bestRoute();
+            return Solution.of(name, route, 1 / engine.bestFitness(), engine.generation(), System.nanoTime() - start);
+        }
+
+        CandidateLists candidates = numCandidates > 0 ? CandidateLists.build(cities, numCandidates) : null;
+        TSPEngine engine = new TSPEngine(local, seed)
+                .candidates(candidates)
+                .deadline(budget)
+                .incumbent(incumbent);
+        if (method == Method.MEMETIC) {
+            if (candidates == null) {
+                throw new IllegalStateException("the memetic method needs candidate lists");
+            }
+            engine.localSearch(candidates, localSearchMoves, localSearchFraction);
+        }
+        configure.accept(engine);
+        int[] tour = engine.run(popSize, maxGenerations, numParents, mutationRate, patience);
+        return Solution.of(name, tour, engine.bestLength(), engine.generation(), System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,92 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// A TSPLIB instance read from a .tsp file with a NODE_COORD_SECTION. EUC_2D instances use the
+// TSPLIB rounded metric, so tour lengths match published optima; other 2D coordinate types
+// fall back to plain Euclidean distances.
+public class TsplibInstance {
+
+    final String name;
+    final String edgeWeightType;
+    final double[][] cities;
+
+    TsplibInstance(String name, String edgeWeightType, double[][] cities) {
+        this.name = name;
+        this.edgeWeightType = edgeWeightType;
+        this.cities = cities;
+    }
+
+    public static TsplibInstance read(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        String edgeWeightType = "EUC_2D";
+        int dimension = -1;
+        try (BufferedReader in = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("NODE_COORD_SECTION")) break;
+                int colon = line.indexOf(':');
+                if (colon < 0) continue;
+                String key = line.substring(0, colon).trim();
+                String value = line.substring(colon + 1).trim();
+                switch (key) {
+                    case "NAME": name = value; break;
+                    case "DIMENSION": dimension = Integer.parseInt(value); break;
+                    case "EDGE_WEIGHT_TYPE": edgeWeightType = value; break;
+                    default: break;
+                }
+            }
+            if (line == null || dimension < 0) {
+                throw new IOException("missing DIMENSION or NODE_COORD_SECTION in " + path);
+            }
+            double[][] cities = new double[dimension][2];
+            for (int i = 0; i < dimension; i++) {
+                line = in.readLine();
+                if (line == null) throw new IOException("expected " + dimension + " nodes in " + path);
+                int p = skipSpaces(line, 0);
+                p = skipToken(line, p); // Node number, nodes are listed in order
+                p = skipSpaces(line, p);
+                int end = skipToken(line, p);
+                cities[i][0] = Double.parseDouble(line.substring(p, end));
+                p = skipSpaces(line, end);
+                end = skipToken(line, p);
+                cities[i][1] = Double.parseDouble(line.substring(p, end));
+            }
+            return new TsplibInstance(name, edgeWeightType, cities);
+        }
+    }
+
+    private static int skipSpaces(String s, int p) {
+        while (p < s.length() && Character.isWhitespace(s.charAt(p))) p++;
+        return p;
+    }
+
+    private static int skipToken(String s, int p) {
+        while (p < s.length() && !Character.isWhitespace(s.charAt(p))) p++;
+        return p;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public double[][] cities() {
+        return cities;
+    }
+
+    public int size() {
+        return cities.length;
+    }
+
+    // Metric for this instance: matrix-backed up to MATRIX_LIMIT cities, edge cache above that
+    public DistanceProvider distances() {
+        DistanceProvider metric = edgeWeightType.equals("EUC_2D")
+                ? DistanceProvider.tsplib(cities)
+                : DistanceProvider.euclidean(cities);
+        return cities.length <= DistanceProvider.MATRIX_LIMIT
+                ? DistanceProvider.matrix(metric)
+                : DistanceProvider.cached(metric, 1 << 20);
+    }
+}
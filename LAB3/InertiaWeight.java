@@ -0,0 +1,27 @@
+// Inertia weight w applied to the previous velocity, recomputed once per iteration. Large w
+// favours exploration, small w convergence.
+@FunctionalInterface
+public interface InertiaWeight {
+
+    // Weight for the given iteration out of maxIterations; successRate is the fraction of
+    // particles that improved their personal best in the previous iteration
+    double weight(int iteration, int maxIterations, double successRate);
+
+    static InertiaWeight constant(double w) {
+        return (iteration, maxIterations, successRate) -> w;
+    }
+
+    // Decreases linearly from start to end over maxIterations
+    static InertiaWeight linear(double start, double end) {
+        return (iteration, maxIterations, successRate) ->
+                maxIterations <= 1 || maxIterations == Integer.MAX_VALUE
+                        ? start
+                        : start + (end - start) * Math.min(1.0, (double) iteration / (maxIterations - 1));
+    }
+
+    // Follows the swarm's success rate between min and max: many improving particles keep the
+    // swarm exploring, few pull it into convergence
+    static InertiaWeight adaptive(double min, double max) {
+        return (iteration, maxIterations, successRate) -> min + (max - min) * successRate;
+    }
+}
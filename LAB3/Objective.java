@@ -0,0 +1,229 @@
+// Function minimized by the swarm. evaluate() scores a batch of particles stored back to back
+// in a flat array (particle p at [p * dims, (p + 1) * dims)), so implementations can hoist
+// per-call setup out of the loop and the inner loops stay simple enough for the JIT to
+// vectorize. Implementations must be safe to call from several threads on disjoint ranges.
+public interface Objective {
+
+    // Write the objective value of particles [from, from + count) to out[from, from + count)
+    void evaluate(double[] positions, int from, int count, int dims, double[] out);
+
+    // Initial positions are drawn uniformly from [lowerBound, upperBound] in every dimension
+    default double lowerBound() {
+        return -10;
+    }
+
+    default double upperBound() {
+        return 10;
+    }
+
+    // Objective value of a single position
+    default double evaluate(double[] x) {
+        double[] out = new double[1];
+        evaluate(x, 0, 1, x.length, out);
+        return out[0];
+    }
+
+    // Sum of squares; minimum 0 at the origin
+    static Objective sphere() {
+        return new Sphere();
+    }
+
+    // Highly multimodal, regular grid of local minima; minimum 0 at the origin, domain [-5.12, 5.12]
+    static Objective rastrigin() {
+        return new Rastrigin();
+    }
+
+    // Narrow curved valley; minimum 0 at (1, ..., 1), domain [-5, 10]
+    static Objective rosenbrock() {
+        return new Rosenbrock();
+    }
+
+    // Nearly flat outer region with a deep central hole; minimum 0 at the origin, domain [-32.768, 32.768]
+    static Objective ackley() {
+        return new Ackley();
+    }
+
+    // Many shallow local minima over a parabola; minimum 0 at the origin, domain [-600, 600]
+    static Objective griewank() {
+        return new Griewank();
+    }
+
+    // Objective by name, as accepted on the command line
+    static Objective byName(String name) {
+        switch (name.toLowerCase()) {
+            case "sphere": return sphere();
+            case "rastrigin": return rastrigin();
+            case "rosenbrock": return rosenbrock();
+            case "ackley": return ackley();
+            case "griewank": return griewank();
+            default: throw new IllegalArgumentException("Unknown objective: " + name);
+        }
+    }
+
+    class Sphere implements Objective {
+        @Override
+        public double evaluate(double[] x) {
+            double sum = 0.0;
+            for (double v : x) {
+                sum += v * v;
+            }
+            return sum;
+        }
+
+        @Override
+        public void evaluate(double[] positions, int from, int count, int dims, double[] out) {
+            for (int p = from, end = from + count; p < end; p++) {
+                int o = p * dims;
+                double sum = 0.0;
+                for (int d = 0; d < dims; d++) {
+                    double x = positions[o + d];
+                    sum += x * x;
+                }
+                out[p] = sum;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "sphere";
+        }
+    }
+
+    class Rastrigin implements Objective {
+        private static final double TWO_PI = 2 * Math.PI;
+
+        @Override
+        public void evaluate(double[] positions, int from, int count, int dims, double[] out) {
+            for (int p = from, end = from + count; p < end; p++) {
+                int o = p * dims;
+                double sum = 10.0 * dims;
+                for (int d = 0; d < dims; d++) {
+                    double x = positions[o + d];
+                    sum += x * x - 10.0 * Math.cos(TWO_PI * x);
+                }
+                out[p] = sum;
+            }
+        }
+
+        @Override
+        public double lowerBound() {
+            return -5.12;
+        }
+
+        @Override
+        public double upperBound() {
+            return 5.12;
+        }
+
+        @Override
+        public String toString() {
+            return "rastrigin";
+        }
+    }
+
+    class Rosenbrock implements Objective {
+        @Override
+        public void evaluate(double[] positions, int from, int count, int dims, double[] out) {
+            for (int p = from, end = from + count; p < end; p++) {
+                int o = p * dims;
+                double sum = 0.0;
+                for (int d = 0; d < dims - 1; d++) {
+                    double x = positions[o + d];
+                    double valley = positions[o + d + 1] - x * x;
+                    double offset = 1.0 - x;
+                    sum += 100.0 * valley * valley + offset * offset;
+                }
+                out[p] = sum;
+            }
+        }
+
+        @Override
+        public double lowerBound() {
+            return -5;
+        }
+
+        @Override
+        public String toString() {
+            return "rosenbrock";
+        }
+    }
+
+    class Ackley implements Objective {
+        private static final double TWO_PI = 2 * Math.PI;
+
+        @Override
+        public void evaluate(double[] positions, int from, int count, int dims, double[] out) {
+            double inverseDims = 1.0 / dims;
+            for (int p = from, end = from + count; p < end; p++) {
+                int o = p * dims;
+                double squares = 0.0;
+                double cosines = 0.0;
+                for (int d = 0; d < dims; d++) {
+                    double x = positions[o + d];
+                    squares += x * x;
+                    cosines += Math.cos(TWO_PI * x);
+                }
+                out[p] = -20.0 * Math.exp(-0.2 * Math.sqrt(squares * inverseDims))
+                        - Math.exp(cosines * inverseDims) + 20.0 + Math.E;
+            }
+        }
+
+        @Override
+        public double lowerBound() {
+            return -32.768;
+        }
+
+        @Override
+        public double upperBound() {
+            return 32.768;
+        }
+
+        @Override
+        public String toString() {
+            return "ackley";
+        }
+    }
+
+    class Griewank implements Objective {
+        // 1 / sqrt(d + 1) per dimension, built on the first batch of a given width
+        private volatile double[] scale = new double[0];
+
+        @Override
+        public void evaluate(double[] positions, int from, int count, int dims, double[] out) {
+            double[] scale = this.scale;
+            if (scale.length < dims) {
+                scale = new double[dims];
+                for (int d = 0; d < dims; d++) {
+                    scale[d] = 1.0 / Math.sqrt(d + 1);
+                }
+                this.scale = scale;
+            }
+            for (int p = from, end = from + count; p < end; p++) {
+                int o = p * dims;
+                double sum = 0.0;
+                double product = 1.0;
+                for (int d = 0; d < dims; d++) {
+                    double x = positions[o + d];
+                    sum += x * x;
+                    product *= Math.cos(x * scale[d]);
+                }
+                out[p] = 1.0 + sum / 4000.0 - product;
+            }
+        }
+
+        @Override
+        public double lowerBound() {
+            return -600;
+        }
+
+        @Override
+        public double upperBound() {
+            return 600;
+        }
+
+        @Override
+        public String toString() {
+            return "griewank";
+        }
+    }
+}
@@ -1,3 +1,5 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Random;
 import java.util.Arrays;
 
@@ -6,12 +8,10 @@ public class ParticleSwarmOptimization {
     static Random random = new Random();
 
     // Fitness function: sum of squares of the position vector
+    static final Objective SPHERE = Objective.sphere();
+
     static double fitnessFunction(double[] position) {
-        double sum = 0.0;
-        for (double x : position) {
-            sum += x * x;
-        }
-        return sum;
+        return SPHERE.evaluate(position);
     }
 
     static double[] copyArray(double[] source) {
@@ -62,7 +62,11 @@ public class ParticleSwarmOptimization {
             }
         }
 
+        Telemetry telemetry = Telemetry.global();
+        telemetry.beginRun("ParticleSwarmOptimization");
+
         for (int iter = 0; iter < maxIterations; iter++) {
+            telemetry.beginGeneration();
             // Update velocity and position
             for (Particle p : swarm) {
                 for (int d = 0; d < dimensions; d++) {
@@ -78,9 +82,15 @@ public class ParticleSwarmOptimization {
                 }
             }
 
+            telemetry.phase(Telemetry.Phase.VARY);
+
             // Update personal best and global best based on new positions
+            double sum = 0;
+            double worst = Double.NEGATIVE_INFINITY;
             for (Particle p : swarm) {
                 double fitness = fitnessFunction(p.position);
+                sum += fitness;
+                worst = Math.max(worst, fitness);
                 if (fitness < p.pbestFitness) {
                     p.pbestFitness = fitness;
                     p.pbestPosition = copyArray(p.position);
@@ -91,10 +101,8 @@ public class ParticleSwarmOptimization {
                 }
             }
 
-            // Optional: print progress every some iterations
-            if (iter % 10000 == 0) {
-                System.out.printf("Iteration %d, Best fitness: %.6f%n", iter, gbestFitness);
-            }
+            telemetry.phase(Telemetry.Phase.EVALUATE);
+            telemetry.endGeneration(iter + 1, gbestFitness, sum / numParticles, worst, Double.NaN, numParticles);
         }
 
         // Output results
@@ -103,7 +111,100 @@ public class ParticleSwarmOptimization {
         System.out.println("  Fitness: " + gbestFitness);
     }
 
+    // Same algorithm on the structure-of-arrays engine (no per-particle objects or best copies)
+    public static void particleSwarmOptimizationSoA(int dimensions, int numParticles, int maxIterations) {
+        particleSwarmOptimizationSoA(dimensions, numParticles, maxIterations, false);
+    }
+
+    // With parallel set, swarm partitions are moved across all cores; seeded runs give the
+    // same result for any thread count
+    public static void particleSwarmOptimizationSoA(int dimensions, int numParticles, int maxIterations, boolean parallel) {
+        particleSwarmOptimizationSoA(dimensions, numParticles, maxIterations, SPHERE, parallel);
+    }
+
+    public static void particleSwarmOptimizationSoA(int dimensions, int numParticles, int maxIterations,
+                                                    Objective objective, boolean parallel) {
+        SwarmEngine swarm = new SwarmEngine(dimensions, numParticles, random.nextLong())
+                .objective(objective)
+                .maxIterations(maxIterations);
+        if (parallel) {
+            swarm.parallel();
+        }
+        particleSwarmOptimization(swarm);
+    }
+
+    // Von Neumann neighbourhoods, linearly decreasing inertia and stagnation restarts; stops
+    // early once the objective is within 1e-10 of its minimum or restarts run out
+    public static void particleSwarmOptimizationAdaptive(int dimensions, int numParticles, int maxIterations,
+                                                         Objective objective) {
+        SwarmEngine swarm = new SwarmEngine(dimensions, numParticles, random.nextLong())
+                .objective(objective)
+                .topology(SwarmEngine.Topology.VON_NEUMANN)
+                .coefficients(0.9, 1.49445, 1.49445)
+                .inertia(InertiaWeight.linear(0.9, 0.4))
+                .stagnation(500, 1e-12, 0.3, 5)
+                .target(1e-10)
+                .maxIterations(maxIterations)
+                .parallel();
+        particleSwarmOptimization(swarm);
+    }
+
+    // For expensive objectives: Von Neumann swarm whose moves are screened by a local RBF
+    // surrogate, so only particles predicted to improve their personal best are evaluated
+    public static void particleSwarmOptimizationSurrogate(int dimensions, int numParticles, int maxIterations,
+                                                          Objective objective) {
+        Surrogate surrogate = Surrogate.rbf(12);
+        SwarmEngine swarm = new SwarmEngine(dimensions, numParticles, random.nextLong())
+                .objective(objective)
+                .topology(SwarmEngine.Topology.VON_NEUMANN)
+                .coefficients(0.9, 1.49445, 1.49445)
+                .inertia(InertiaWeight.linear(0.9, 0.4))
+                .maxIterations(maxIterations)
+                .surrogate(surrogate)
+                .parallel();
+        particleSwarmOptimization(swarm);
+        System.out.println("  " + surrogate);
+    }
+
+    // Run a configured engine until it reports done. With -Dcheckpoint=<file> the swarm is
+    // checkpointed to that file, and resumed from it first if it already exists.
+    public static void particleSwarmOptimization(SwarmEngine swarm) {
+        Path checkpoint = Checkpoint.configuredPath();
+        if (checkpoint != null) {
+            if (Files.exists(checkpoint)) {
+                swarm.resume(checkpoint);
+            }
+            swarm.checkpoint(checkpoint, Checkpoint.configuredInterval());
+        }
+        swarm.run();
+
+        System.out.println("SOLUTION FOUND:");
+        System.out.println("  Position: " + Arrays.toString(swarm.bestPosition()));
+        System.out.println("  Fitness: " + swarm.bestFitness());
+        System.out.println("  Iterations: " + swarm.iteration() + ", evaluations: " + swarm.evaluations()
+                + ", restarts: " + swarm.restarts());
+    }
+
     public static void main(String[] args) {
+        // --soa / --parallel / --adaptive / --surrogate [objective [dimensions]], e.g. --parallel rastrigin 30
+        if (args.length > 0 && args[0].equals("--adaptive")) {
+            Objective objective = args.length > 1 ? Objective.byName(args[1]) : SPHERE;
+            int dimensions = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+            particleSwarmOptimizationAdaptive(dimensions, 200, 50000, objective);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--surrogate")) {
+            Objective objective = args.length > 1 ? Objective.byName(args[1]) : SPHERE;
+            int dimensions = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+            particleSwarmOptimizationSurrogate(dimensions, 40, 1000, objective);
+            return;
+        }
+        if (args.length > 0 && (args[0].equals("--soa") || args[0].equals("--parallel"))) {
+            Objective objective = args.length > 1 ? Objective.byName(args[1]) : SPHERE;
+            int dimensions = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+            particleSwarmOptimizationSoA(dimensions, 200, 50000, objective, args[0].equals("--parallel"));
+            return;
+        }
         particleSwarmOptimization(2, 200, 50000);
     }
 }
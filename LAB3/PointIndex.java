@@ -0,0 +1,200 @@
+import java.util.Arrays;
+
+// Growing k-d tree over points in dims dimensions, each carrying a value, for k-nearest-neighbour
+// queries. Points are stored back to back in one flat array. The indexed prefix is an implicit
+// median-split tree like LAB2's KdTree: a permutation of point indices, split on axis
+// depth % dims, with no node objects. New points are appended to an unindexed tail that queries
+// scan linearly. Once the tail grows to an eighth of the index, the whole tree is rebuilt, so an
+// insert costs O(log n) amortized.
+//
+// Queries only read the index, so several threads may query at once, each with its own
+// Neighbours. Inserts must not run concurrently with queries.
+public class PointIndex {
+
+    private final int dims;
+    private double[] coords = new double[0];
+    private double[] values = new double[0];
+    private int size;
+    private int[] index = new int[0]; // Implicit tree over points [0, indexed)
+    private int indexed;
+
+    public PointIndex(int dims) {
+        this.dims = dims;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int dims() {
+        return dims;
+    }
+
+    public double value(int point) {
+        return values[point];
+    }
+
+    // Coordinate d of a point
+    public double coord(int point, int d) {
+        return coords[point * dims + d];
+    }
+
+    public void add(double[] x, int offset, double value) {
+        if (size == values.length) {
+            int capacity = Math.max(64, size * 2);
+            coords = Arrays.copyOf(coords, Math.multiplyExact(capacity, dims));
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(x, offset, coords, size * dims, dims);
+        values[size++] = value;
+        if (size - indexed > Math.max(32, indexed >>> 3)) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        if (index.length < size) {
+            index = new int[values.length];
+        }
+        for (int i = 0; i < size; i++) {
+            index[i] = i;
+        }
+        indexed = size;
+        build(0, size, 0);
+    }
+
+    private void build(int lo, int hi, int axis) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, axis);
+            int next = axis + 1 == dims ? 0 : axis + 1;
+            build(lo, mid, next);
+            lo = mid + 1;
+            axis = next;
+        }
+    }
+
+    // Quickselect: put the point with the k-th smallest coordinate on axis at index[k]
+    private void select(int lo, int hi, int k, int axis) {
+        while (lo < hi) {
+            double pivot = coords[index[(lo + hi) >>> 1] * dims + axis];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (coords[index[i] * dims + axis] < pivot) i++;
+                while (coords[index[j] * dims + axis] > pivot) j--;
+                if (i <= j) {
+                    int t = index[i]; index[i] = index[j]; index[j] = t;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    // Find the k points nearest to x[offset, offset + dims); they are left in out as a max-heap
+    // on squared distance (farthest first). Returns how many were found.
+    public int nearest(double[] x, int offset, int k, Neighbours out) {
+        out.reset(k);
+        search(0, indexed, 0, x, offset, out);
+        for (int p = indexed; p < size; p++) {
+            out.offer(p, distance2(p, x, offset));
+        }
+        return out.size;
+    }
+
+    private void search(int lo, int hi, int axis, double[] x, int offset, Neighbours out) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int point = index[mid];
+            out.offer(point, distance2(point, x, offset));
+            double delta = x[offset + axis] - coords[point * dims + axis];
+            int next = axis + 1 == dims ? 0 : axis + 1;
+            if (delta < 0) {
+                search(lo, mid, next, x, offset, out);
+                if (out.size < out.capacity || delta * delta < out.dist2[0]) {
+                    lo = mid + 1;
+                } else {
+                    return;
+                }
+            } else {
+                search(mid + 1, hi, next, x, offset, out);
+                if (out.size < out.capacity || delta * delta < out.dist2[0]) {
+                    hi = mid;
+                } else {
+                    return;
+                }
+            }
+            axis = next;
+        }
+    }
+
+    private double distance2(int point, double[] x, int offset) {
+        int o = point * dims;
+        double sum = 0;
+        for (int d = 0; d < dims; d++) {
+            double delta = coords[o + d] - x[offset + d];
+            sum += delta * delta;
+        }
+        return sum;
+    }
+
+    // Query result and scratch: a bounded max-heap of (point, squared distance)
+    public static final class Neighbours {
+        int[] point = new int[0];
+        double[] dist2 = new double[0];
+        int size;
+        int capacity;
+
+        void reset(int k) {
+            if (point.length < k) {
+                point = new int[k];
+                dist2 = new double[k];
+            }
+            size = 0;
+            capacity = k;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int point(int i) {
+            return point[i];
+        }
+
+        public double distance2(int i) {
+            return dist2[i];
+        }
+
+        void offer(int p, double d) {
+            if (size < capacity) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (dist2[parent] >= d) break;
+                    point[i] = point[parent];
+                    dist2[i] = dist2[parent];
+                    i = parent;
+                }
+                point[i] = p;
+                dist2[i] = d;
+            } else if (d < dist2[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && dist2[child + 1] > dist2[child]) child++;
+                    if (dist2[child] <= d) break;
+                    point[i] = point[child];
+                    dist2[i] = dist2[child];
+                    i = child;
+                }
+                point[i] = p;
+                dist2[i] = d;
+            }
+        }
+    }
+}
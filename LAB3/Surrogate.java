@@ -0,0 +1,289 @@
+// Surrogate model that screens particles before they reach an expensive Objective. Every true
+// evaluation is stored in a PointIndex. A moved particle first gets a predicted fitness from its
+// k nearest stored points, by either
+//  - nearest(k): inverse-distance-weighted mean of their values, or
+//  - rbf(k):     a local Gaussian radial basis interpolant through them, fitted around their mean.
+// Only particles whose prediction, less a safety margin, beats their personal best get a true
+// evaluation. The rest keep the predicted value, which can never become a personal or global
+// best, so bests always hold true objective values. The margin is the standard deviation of the
+// neighbours' values times a factor: wide where the landscape around the particle is rough or
+// sampled far apart, narrow in the well-explored basin the swarm converges into.
+// A small validation fraction of screened-out particles is evaluated anyway, which measures
+// how often screening wrongly skips an improvement.
+//
+// Until warmup points are stored every particle is evaluated. Stats count screening decisions
+// (hits = answered by the surrogate, misses = true evaluations) and prediction accuracy.
+//
+// One Surrogate serves one SwarmEngine run. predict() may run on several partitions at once;
+// learn() runs on the engine thread between iterations. Surrogate state is not checkpointed: a
+// resumed run seeds it with the restored personal bests.
+public class Surrogate {
+
+    // Prediction methods
+    private static final int IDW = 0;
+    private static final int RBF = 1;
+
+    // Screening verdicts per particle, set by screen() and read by learn()
+    static final byte PREDICTED = 0; // Skipped, fitness is the prediction
+    static final byte EVALUATED = 1; // Predicted to improve (or cold), truly evaluated
+    static final byte VALIDATED = 2; // Predicted not to improve, truly evaluated anyway
+
+    private final int method;
+    private final int k;
+    private double validationRate = 0.02;
+    private double marginFactor = 1.0;
+    private int warmup;
+
+    private PointIndex index;
+    private PointIndex.Neighbours[] scratch; // Per partition
+    private double[][] system;               // Per partition, k * k RBF matrix
+    private double[][] weights;              // Per partition, k RBF weights
+    private double[] spread;                 // Per partition, neighbour value std-dev of the last prediction
+
+    // Stats
+    private long hits;
+    private long misses;
+    private long validations;
+    private long wrongSkips;
+    private long errorCount;
+    private double errorSum;
+    private double errorSquaredSum;
+
+    private Surrogate(int method, int k) {
+        if (k < 1) throw new IllegalArgumentException("k must be >= 1");
+        this.method = method;
+        this.k = k;
+        this.warmup = 4 * k;
+    }
+
+    // Inverse-distance-weighted k nearest neighbours
+    public static Surrogate nearest(int k) {
+        return new Surrogate(IDW, k);
+    }
+
+    // Gaussian RBF interpolation over the k nearest neighbours
+    public static Surrogate rbf(int k) {
+        return new Surrogate(RBF, k);
+    }
+
+    // Fraction of screened-out particles evaluated anyway to measure screening (default 0.02)
+    public Surrogate validation(double rate) {
+        if (!(rate >= 0 && rate <= 1)) throw new IllegalArgumentException("validation rate must be in [0, 1]");
+        this.validationRate = rate;
+        return this;
+    }
+
+    // Margin in standard deviations of the neighbours' values (default 1); 0 trusts predictions
+    // fully. A negative margin would let a skipped particle's prediction undercut its personal best
+    // and become a best, so it is rejected.
+    public Surrogate margin(double factor) {
+        if (!(factor >= 0)) throw new IllegalArgumentException("margin must be >= 0");
+        this.marginFactor = factor;
+        return this;
+    }
+
+    // Stored evaluations needed before screening starts (default 4k)
+    public Surrogate warmup(int points) {
+        this.warmup = Math.max(points, k);
+        return this;
+    }
+
+    // Start a run: forget all points and stats
+    void reset(int dimensions, int numPartitions) {
+        index = new PointIndex(dimensions);
+        scratch = new PointIndex.Neighbours[numPartitions];
+        system = new double[numPartitions][k * k];
+        weights = new double[numPartitions][k];
+        spread = new double[numPartitions];
+        for (int b = 0; b < numPartitions; b++) {
+            scratch[b] = new PointIndex.Neighbours();
+        }
+        hits = misses = validations = wrongSkips = errorCount = 0;
+        errorSum = errorSquaredSum = 0;
+    }
+
+    boolean warm() {
+        return index.size() >= warmup;
+    }
+
+    // Predicted fitness of the position at x[offset, offset + dims), on partition b's scratch
+    double predict(double[] x, int offset, int b) {
+        PointIndex.Neighbours near = scratch[b];
+        int found = index.nearest(x, offset, k, near);
+        double sum = 0;
+        double squares = 0;
+        for (int i = 0; i < found; i++) {
+            double value = index.value(near.point(i));
+            sum += value;
+            squares += value * value;
+        }
+        double mean = sum / found;
+        spread[b] = Math.sqrt(Math.max(0, squares / found - mean * mean));
+        for (int i = 0; i < found; i++) {
+            if (near.distance2(i) == 0) {
+                return index.value(near.point(i));
+            }
+        }
+        if (method == RBF && found > 1) {
+            double value = interpolate(near, found, mean, system[b], weights[b]);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        double weighted = 0;
+        double weightSum = 0;
+        for (int i = 0; i < found; i++) {
+            double weight = 1 / near.distance2(i);
+            weighted += weight * index.value(near.point(i));
+            weightSum += weight;
+        }
+        return weighted / weightSum;
+    }
+
+    // Gaussian RBF through the neighbours' values less their mean, with the kernel width set to
+    // the farthest neighbour's distance. The kernel matrix is symmetric positive definite, so it
+    // is solved by Cholesky with a small ridge; NaN if it is numerically singular.
+    private double interpolate(PointIndex.Neighbours near, int n, double mean, double[] a, double[] w) {
+        double width2 = near.distance2(0); // Max-heap root: farthest neighbour
+        for (int i = 0; i < n; i++) {
+            int pi = near.point(i);
+            a[i * n + i] = 1 + 1e-9;
+            for (int j = 0; j < i; j++) {
+                double kernel = Math.exp(-pointDistance2(pi, near.point(j)) / width2);
+                a[i * n + j] = kernel;
+            }
+            w[i] = index.value(pi) - mean;
+        }
+        // In-place Cholesky, lower triangle
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = a[i * n + j];
+                for (int m = 0; m < j; m++) {
+                    sum -= a[i * n + m] * a[j * n + m];
+                }
+                if (i == j) {
+                    if (sum <= 1e-12) return Double.NaN;
+                    a[i * n + i] = Math.sqrt(sum);
+                } else {
+                    a[i * n + j] = sum / a[j * n + j];
+                }
+            }
+        }
+        // Forward then back substitution, weights in w
+        for (int i = 0; i < n; i++) {
+            double sum = w[i];
+            for (int m = 0; m < i; m++) sum -= a[i * n + m] * w[m];
+            w[i] = sum / a[i * n + i];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = w[i];
+            for (int m = i + 1; m < n; m++) sum -= a[m * n + i] * w[m];
+            w[i] = sum / a[i * n + i];
+        }
+        double value = mean;
+        for (int i = 0; i < n; i++) {
+            value += w[i] * Math.exp(-near.distance2(i) / width2);
+        }
+        return value;
+    }
+
+    private double pointDistance2(int p, int q) {
+        int dims = index.dims();
+        double sum = 0;
+        for (int d = 0; d < dims; d++) {
+            double delta = index.coord(p, d) - index.coord(q, d);
+            sum += delta * delta;
+        }
+        return sum;
+    }
+
+    // Screening decision for the particle partition b last predicted: true evaluation if the
+    // prediction could beat its personal best, or as a validation sample drawn with probability
+    // validationRate
+    byte screen(int b, double predicted, double personalBest, double draw) {
+        if (predicted - marginFactor * spread[b] < personalBest) {
+            return EVALUATED;
+        }
+        return draw < validationRate ? VALIDATED : PREDICTED;
+    }
+
+    // Fold one iteration into the model and the stats: store every truly evaluated position,
+    // measure the error of the ones that had a prediction, and count a validation as a wrong
+    // skip when its true value beat the personal best it was screened against. Returns the
+    // number of true evaluations.
+    int learn(double[] positions, int dims, double[] fitness, double[] predicted, double[] screenedAgainst,
+               byte[] verdict, int count, boolean screened) {
+        int evaluated = 0;
+        for (int p = 0; p < count; p++) {
+            byte v = verdict[p];
+            if (v == PREDICTED) {
+                hits++;
+                continue;
+            }
+            misses++;
+            evaluated++;
+            if (screened) {
+                double error = Math.abs(predicted[p] - fitness[p]);
+                errorSum += error;
+                errorSquaredSum += error * error;
+                errorCount++;
+                if (v == VALIDATED) {
+                    validations++;
+                    if (fitness[p] < screenedAgainst[p]) wrongSkips++;
+                }
+            }
+            index.add(positions, p * dims, fitness[p]);
+        }
+        return evaluated;
+    }
+
+    // Store a truly evaluated position outside the screened moves (initial placement, restarts)
+    void add(double[] positions, int offset, double fitness) {
+        index.add(positions, offset, fitness);
+    }
+
+    // Particles answered by the surrogate
+    public long hits() {
+        return hits;
+    }
+
+    // Particles sent to the true objective while screening was active or warming up
+    public long misses() {
+        return misses;
+    }
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    // Mean absolute and root mean squared prediction error over truly evaluated predictions
+    public double meanAbsoluteError() {
+        return errorCount == 0 ? Double.NaN : errorSum / errorCount;
+    }
+
+    public double rootMeanSquaredError() {
+        return errorCount == 0 ? Double.NaN : Math.sqrt(errorSquaredSum / errorCount);
+    }
+
+    // Validation samples, and the fraction of them that would have improved their personal best
+    public long validations() {
+        return validations;
+    }
+
+    public double wrongSkipRate() {
+        return validations == 0 ? Double.NaN : (double) wrongSkips / validations;
+    }
+
+    public int storedPoints() {
+        return index == null ? 0 : index.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("surrogate: %d hits, %d misses (%.1f%% hit rate), MAE %.4g, RMSE %.4g, "
+                        + "%d validations (%.1f%% wrong skips), %d points stored",
+                hits, misses, 100 * hitRate(), meanAbsoluteError(), rootMeanSquaredError(),
+                validations, 100 * wrongSkipRate(), storedPoints());
+    }
+}
@@ -0,0 +1,708 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Structure-of-arrays PSO: positions, velocities and personal bests of all particles live in
+// flat double[numParticles * dims] arrays (particle p at [p * dims, (p + 1) * dims)).
+// Personal and global bests are updated in place with arraycopy, and the velocity update runs
+// through a VelocityKernel (Vector API when available, scalar otherwise). Particles are scored
+// in batches, one Objective call per partition.
+//
+// The swarm is moved in fixed-size partitions. Each partition draws from its own
+// SplittableRandom stream split off the iteration's stream in partition order and records its
+// best particle in its own slot; the slots are reduced into the global best after all
+// partitions finish. No state is shared between workers, so a seeded run gives identical
+// results whether partitions run sequentially or spread over a ForkJoinPool.
+//
+// With a local topology every particle follows the best personal best in its neighbourhood
+// instead of the global best. Leaders are chosen between iterations, and personal bests are
+// then updated in a second pass so no partition reads a best another one is writing.
+//
+// With a Surrogate attached, moved particles are first scored by a model of past evaluations and
+// only those predicted to improve their personal best are passed to the objective (see
+// Surrogate). Predictions are read-only during the partition pass, and the model learns in
+// particle order afterwards, so screening is deterministic too.
+//
+// The swarm can be checkpointed and resumed. All randomness is split off one root stream, so a
+// checkpoint stores the seed and the number of splits taken, and a resumed swarm replays them
+// and continues exactly like the uninterrupted run. The exception is a swarm with a Surrogate:
+// its model is not checkpointed, so a resumed swarm reseeds it with the personal bests only and
+// screens differently (and not at all until the model is warm again).
+public class SwarmEngine {
+
+    static final int CHECKPOINT_MAGIC = 0x434F5350; // "PSOC" read little-endian
+
+    // Particles per partition; fixed so results do not depend on the thread count
+    static final int PARTITION_SIZE = 64;
+
+    // Informants per particle in the random topology
+    static final int INFORMANTS = 3;
+
+    public enum Topology {
+        GLOBAL,      // Every particle follows the global best
+        RING,        // Particles i - 1, i and i + 1
+        VON_NEUMANN, // Particle i and its four neighbours on a torus ceil(sqrt(n)) columns wide
+        RANDOM       // Particle i and INFORMANTS random others, redrawn whenever the global best stalls
+    }
+
+    // Partition work items
+    private static final int PLACE = 1;  // Random positions and velocities
+    private static final int MOVE = 2;   // Velocity and position update, then evaluation
+    private static final int UPDATE = 4; // Personal bests and partition best
+
+    private final int dimensions;
+    private final int numParticles;
+    private final int numPartitions;
+    private long seed;
+    private SplittableRandom random;
+    private long splits; // Streams split off random so far
+    private VelocityKernel kernel = VelocityKernel.best();
+    private Objective objective = Objective.sphere();
+    private ForkJoinPool pool; // null = update on the calling thread
+    private Telemetry telemetry = Telemetry.global();
+    private Checkpoint checkpoint; // null = no periodic snapshots
+    private Path resumeFrom;       // Checkpoint to continue from on the next initialize()
+    private Surrogate surrogate;   // null = every moved particle is truly evaluated
+
+    private Topology topology = Topology.GLOBAL;
+    private InertiaWeight inertia = InertiaWeight.constant(0.5);
+    private double c1 = 0.8;
+    private double c2 = 0.9;
+
+    // Stopping and restart settings
+    private int maxIterations = Integer.MAX_VALUE;
+    private long evaluationBudget = Long.MAX_VALUE;
+    private double targetFitness = Double.NEGATIVE_INFINITY;
+    private int stagnationPatience;  // 0 = no stagnation handling
+    private double tolerance;
+    private double reinitFraction;
+    private int maxRestarts;
+
+    final double[] position;
+    final double[] velocity;
+    final double[] pbest;
+    final double[] fitness;
+    final double[] pbestFitness;
+    final double[] gbest;
+    double gbestFitness = Double.POSITIVE_INFINITY;
+
+    // Surrogate screening per particle: prediction, personal best it was screened against, verdict
+    private double[] predicted;
+    private double[] screenedAgainst;
+    private byte[] verdict;
+    private boolean screening;
+
+    // Neighbourhood leader per particle and informant lists for the random topology
+    private final int[] leader;
+    private int[] informants;
+
+    // Per-partition state: random stream, random coefficient buffers, best particle found and
+    // number of personal best improvements
+    private final SplittableRandom[] streams;
+    private final double[][] r1;
+    private final double[][] r2;
+    private final int[] partitionBest;
+    private final int[] partitionImproved;
+
+    private int iteration;
+    private int mode;
+    private double w;
+    private double successRate;
+    private long evaluations;
+    private double stagnationReference;
+    private int stagnantIterations;
+    private int restarts;
+    private boolean exhausted;
+
+    public SwarmEngine(int dimensions, int numParticles, long seed) {
+        this.dimensions = dimensions;
+        this.numParticles = numParticles;
+        this.numPartitions = (numParticles + PARTITION_SIZE - 1) / PARTITION_SIZE;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        int size = Math.multiplyExact(dimensions, numParticles);
+        position = new double[size];
+        velocity = new double[size];
+        pbest = new double[size];
+        fitness = new double[numParticles];
+        pbestFitness = new double[numParticles];
+        gbest = new double[dimensions];
+        leader = new int[numParticles];
+        streams = new SplittableRandom[numPartitions];
+        r1 = new double[numPartitions][dimensions];
+        r2 = new double[numPartitions][dimensions];
+        partitionBest = new int[numPartitions];
+        partitionImproved = new int[numPartitions];
+    }
+
+    public SwarmEngine coefficients(double w, double c1, double c2) {
+        this.inertia = InertiaWeight.constant(w);
+        this.c1 = c1;
+        this.c2 = c2;
+        return this;
+    }
+
+    public SwarmEngine inertia(InertiaWeight inertia) {
+        this.inertia = inertia;
+        return this;
+    }
+
+    public SwarmEngine topology(Topology topology) {
+        this.topology = topology;
+        return this;
+    }
+
+    public SwarmEngine kernel(VelocityKernel kernel) {
+        this.kernel = kernel;
+        return this;
+    }
+
+    public SwarmEngine objective(Objective objective) {
+        this.objective = objective;
+        return this;
+    }
+
+    // Iteration limit; also the horizon of InertiaWeight.linear
+    public SwarmEngine maxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+        return this;
+    }
+
+    // Stop once this many objective evaluations have been spent
+    public SwarmEngine evaluationBudget(long evaluations) {
+        this.evaluationBudget = evaluations;
+        return this;
+    }
+
+    // Stop as soon as the global best reaches targetFitness
+    public SwarmEngine target(double targetFitness) {
+        this.targetFitness = targetFitness;
+        return this;
+    }
+
+    // When the global best has not improved by more than tolerance for patience iterations,
+    // re-place fraction of the swarm at random. After maxRestarts such restarts the next
+    // stagnation ends the run.
+    public SwarmEngine stagnation(int patience, double tolerance, double fraction, int maxRestarts) {
+        this.stagnationPatience = patience;
+        this.tolerance = tolerance;
+        this.reinitFraction = fraction;
+        this.maxRestarts = maxRestarts;
+        return this;
+    }
+
+    // Snapshot the swarm to path every interval iterations (written off-thread)
+    public SwarmEngine checkpoint(Path path, int interval) {
+        this.checkpoint = new Checkpoint(path, CHECKPOINT_MAGIC, interval);
+        return this;
+    }
+
+    // Make the next initialize() restore the swarm saved at path instead of placing a new one.
+    // The engine must have the same size and topology; the saved seed replaces this one.
+    public SwarmEngine resume(Path path) {
+        this.resumeFrom = path;
+        return this;
+    }
+
+    // Screen moved particles with a surrogate model so that only those predicted to improve their
+    // personal best reach the objective; evaluations() and the budget count true evaluations
+    public SwarmEngine surrogate(Surrogate surrogate) {
+        this.surrogate = surrogate;
+        if (surrogate != null && verdict == null) {
+            predicted = new double[numParticles];
+            screenedAgainst = new double[numParticles];
+            verdict = new byte[numParticles];
+        }
+        return this;
+    }
+
+    // Per-iteration metrics sink (Telemetry.global() by default)
+    public SwarmEngine telemetry(Telemetry telemetry) {
+        this.telemetry = telemetry;
+        return this;
+    }
+
+    // Update partitions across all cores of the common pool
+    public SwarmEngine parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    // Update partitions on the given pool, or on the calling thread if pool is null
+    public SwarmEngine parallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    // Positions uniform over the objective's bounds, velocities uniform over a tenth of that range
+    public void initialize() {
+        if (surrogate != null) {
+            surrogate.reset(dimensions, numPartitions);
+        }
+        if (resumeFrom != null) {
+            restore();
+            if (surrogate != null) {
+                for (int p = 0; p < numParticles; p++) {
+                    surrogate.add(pbest, p * dimensions, pbestFitness[p]);
+                }
+            }
+            telemetry.beginRun("SwarmEngine");
+            return;
+        }
+        random = new SplittableRandom(seed);
+        splits = 0;
+        gbestFitness = Double.POSITIVE_INFINITY;
+        iteration = 0;
+        evaluations = 0;
+        restarts = 0;
+        stagnantIterations = 0;
+        exhausted = false;
+        successRate = 1.0;
+        if (topology == Topology.RANDOM) {
+            informants = new int[numParticles * INFORMANTS];
+            drawInformants();
+        }
+        runPartitions(PLACE | MOVE | UPDATE);
+        reduceBest();
+        stagnationReference = gbestFitness;
+        chooseLeaders();
+        telemetry.beginRun("SwarmEngine");
+    }
+
+    // One synchronous iteration: move every particle against its leader's personal best, then
+    // update personal bests and reduce the partition bests into the global best
+    public void step() {
+        telemetry.beginGeneration();
+        long evaluationsBefore = evaluations;
+        w = inertia.weight(iteration, maxIterations, successRate);
+        double previousBest = gbestFitness;
+        if (topology == Topology.GLOBAL) {
+            runPartitions(MOVE | UPDATE);
+        } else {
+            runPartitions(MOVE);
+            runPartitions(UPDATE);
+        }
+        telemetry.phase(Telemetry.Phase.VARY);
+        reduceBest();
+        iteration++;
+        if (stagnationPatience > 0) {
+            checkStagnation();
+        }
+        if (topology == Topology.RANDOM && !(gbestFitness < previousBest)) {
+            drawInformants();
+        }
+        chooseLeaders();
+        if (checkpoint != null && checkpoint.due(iteration)) {
+            saveCheckpoint();
+        }
+        telemetry.phase(Telemetry.Phase.UPDATE);
+        if (telemetry.enabled()) {
+            telemetry.endGeneration(iteration, gbestFitness, evaluatedMean(), evaluatedWorst(), diversity(),
+                    evaluations - evaluationsBefore);
+        }
+    }
+
+    // Mean and worst current fitness over the particles truly evaluated this iteration; with a
+    // surrogate the others hold predictions, which are left out. NaN if every particle was
+    // predicted.
+    private double evaluatedMean() {
+        if (surrogate == null) {
+            return Telemetry.mean(fitness, numParticles);
+        }
+        double sum = 0;
+        int count = 0;
+        for (int p = 0; p < numParticles; p++) {
+            if (verdict[p] != Surrogate.PREDICTED) {
+                sum += fitness[p];
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    private double evaluatedWorst() {
+        if (surrogate == null) {
+            return Telemetry.max(fitness, numParticles);
+        }
+        double worst = Double.NaN;
+        for (int p = 0; p < numParticles; p++) {
+            if (verdict[p] != Surrogate.PREDICTED && !(fitness[p] <= worst)) {
+                worst = fitness[p];
+            }
+        }
+        return worst;
+    }
+
+    // Mean distance of the particles from the swarm centroid, relative to the width of the
+    // search domain
+    public double diversity() {
+        double[] centroid = new double[dimensions];
+        for (int p = 0; p < numParticles; p++) {
+            for (int d = 0; d < dimensions; d++) {
+                centroid[d] += position[p * dimensions + d];
+            }
+        }
+        for (int d = 0; d < dimensions; d++) {
+            centroid[d] /= numParticles;
+        }
+        double total = 0;
+        for (int p = 0; p < numParticles; p++) {
+            double squared = 0;
+            for (int d = 0; d < dimensions; d++) {
+                double delta = position[p * dimensions + d] - centroid[d];
+                squared += delta * delta;
+            }
+            total += Math.sqrt(squared);
+        }
+        return total / numParticles / (objective.upperBound() - objective.lowerBound());
+    }
+
+    // Whether the iteration limit, evaluation budget or target has been reached, or the
+    // swarm has stagnated after its last allowed restart
+    public boolean done() {
+        return iteration >= maxIterations || evaluations >= evaluationBudget
+                || gbestFitness <= targetFitness || exhausted;
+    }
+
+    // Initialize, then iterate until done(); returns the global best position
+    public double[] run() {
+        initialize();
+        while (!done()) {
+            step();
+        }
+        if (checkpoint != null) {
+            checkpoint.await();
+        }
+        return gbest;
+    }
+
+    private SplittableRandom split() {
+        splits++;
+        return random.split();
+    }
+
+    // Snapshot: seed and split count, shape, counters, global best, then the swarm columns
+    private void saveCheckpoint() {
+        int size = numParticles * dimensions;
+        int informantCount = informants == null ? 0 : informants.length;
+        ByteBuffer out = checkpoint.begin(80 + Double.BYTES * (dimensions + 3 * size + 2 * numParticles)
+                + Integer.BYTES * (numParticles + informantCount));
+        if (out == null) {
+            return;
+        }
+        out.putLong(seed).putLong(splits).putInt(dimensions).putInt(numParticles).putInt(topology.ordinal())
+                .putInt(informantCount).putInt(iteration).putLong(evaluations).putDouble(gbestFitness)
+                .putDouble(successRate).putDouble(stagnationReference).putInt(stagnantIterations)
+                .putInt(restarts).putInt(exhausted ? 1 : 0);
+        Checkpoint.put(out, gbest, dimensions);
+        Checkpoint.put(out, position, size);
+        Checkpoint.put(out, velocity, size);
+        Checkpoint.put(out, pbest, size);
+        Checkpoint.put(out, fitness, numParticles);
+        Checkpoint.put(out, pbestFitness, numParticles);
+        Checkpoint.put(out, leader, numParticles);
+        if (informantCount > 0) {
+            Checkpoint.put(out, informants, informantCount);
+        }
+        checkpoint.commit(out);
+    }
+
+    private void restore() {
+        ByteBuffer in;
+        try {
+            in = Checkpoint.read(resumeFrom, CHECKPOINT_MAGIC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long savedSeed = in.getLong();
+        long savedSplits = in.getLong();
+        if (in.getInt() != dimensions || in.getInt() != numParticles || in.getInt() != topology.ordinal()) {
+            throw new IllegalArgumentException(resumeFrom + " was saved by a different swarm");
+        }
+        seed = savedSeed;
+        random = new SplittableRandom(seed);
+        for (splits = 0; splits < savedSplits; splits++) {
+            random.split();
+        }
+        int informantCount = in.getInt();
+        iteration = in.getInt();
+        evaluations = in.getLong();
+        gbestFitness = in.getDouble();
+        successRate = in.getDouble();
+        stagnationReference = in.getDouble();
+        stagnantIterations = in.getInt();
+        restarts = in.getInt();
+        exhausted = in.getInt() == 1;
+        int size = numParticles * dimensions;
+        Checkpoint.get(in, gbest, dimensions);
+        Checkpoint.get(in, position, size);
+        Checkpoint.get(in, velocity, size);
+        Checkpoint.get(in, pbest, size);
+        Checkpoint.get(in, fitness, numParticles);
+        Checkpoint.get(in, pbestFitness, numParticles);
+        Checkpoint.get(in, leader, numParticles);
+        informants = informantCount == 0 ? null : new int[informantCount];
+        if (informantCount > 0) {
+            Checkpoint.get(in, informants, informantCount);
+        }
+        resumeFrom = null;
+    }
+
+    // Split one stream per partition off the iteration stream, then run every partition
+    // either inline or as fork/join tasks
+    private void runPartitions(int mode) {
+        this.mode = mode;
+        boolean evaluating = (mode & (PLACE | MOVE)) != 0;
+        if (evaluating) {
+            SplittableRandom iterationRng = split();
+            for (int b = 0; b < numPartitions; b++) {
+                streams[b] = iterationRng.split();
+            }
+        }
+        screening = surrogate != null && (mode & MOVE) != 0 && surrogate.warm();
+        if (surrogate != null && evaluating && !screening) {
+            Arrays.fill(verdict, Surrogate.EVALUATED);
+        }
+        if (pool == null || numPartitions < 2) {
+            for (int b = 0; b < numPartitions; b++) {
+                runPartition(b);
+            }
+        } else {
+            pool.invoke(new PartitionTask(0, numPartitions));
+        }
+        if (surrogate != null && evaluating) {
+            evaluations += surrogate.learn(position, dimensions, fitness, predicted, screenedAgainst, verdict,
+                    numParticles, screening);
+        } else if (evaluating) {
+            evaluations += numParticles;
+        }
+    }
+
+    private final class PartitionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        PartitionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                runPartition(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PartitionTask(from, mid), new PartitionTask(mid, to));
+        }
+    }
+
+    // Place or move particles of partition b and score them in one batch, then update their
+    // personal bests. Writes only the partition's own particles and slots.
+    private void runPartition(int b) {
+        int lo = b * PARTITION_SIZE;
+        int hi = Math.min(numParticles, lo + PARTITION_SIZE);
+        if ((mode & PLACE) != 0) {
+            SplittableRandom rng = streams[b];
+            for (int p = lo; p < hi; p++) {
+                place(p, rng);
+                pbestFitness[p] = Double.POSITIVE_INFINITY;
+            }
+            objective.evaluate(position, lo, hi - lo, dimensions, fitness);
+        } else if ((mode & MOVE) != 0) {
+            SplittableRandom rng = streams[b];
+            double[] r1 = this.r1[b];
+            double[] r2 = this.r2[b];
+            for (int p = lo; p < hi; p++) {
+                for (int d = 0; d < dimensions; d++) {
+                    r1[d] = rng.nextDouble();
+                    r2[d] = rng.nextDouble();
+                }
+                if (topology == Topology.GLOBAL) {
+                    kernel.update(position, velocity, pbest, p * dimensions, gbest, 0, r1, r2, dimensions, w, c1, c2);
+                } else {
+                    kernel.update(position, velocity, pbest, p * dimensions, pbest, leader[p] * dimensions, r1, r2, dimensions, w, c1, c2);
+                }
+            }
+            if (screening) {
+                screen(b, lo, hi, rng);
+            } else {
+                objective.evaluate(position, lo, hi - lo, dimensions, fitness);
+            }
+        }
+        if ((mode & UPDATE) == 0) {
+            return;
+        }
+
+        int best = -1;
+        int improved = 0;
+        double bestFitness = Double.POSITIVE_INFINITY;
+        for (int p = lo; p < hi; p++) {
+            if (fitness[p] < pbestFitness[p]) {
+                pbestFitness[p] = fitness[p];
+                System.arraycopy(position, p * dimensions, pbest, p * dimensions, dimensions);
+                improved++;
+            }
+            if (fitness[p] < bestFitness) {
+                bestFitness = fitness[p];
+                best = p;
+            }
+        }
+        partitionBest[b] = best;
+        partitionImproved[b] = improved;
+    }
+
+    // Predict every moved particle of partition b and truly evaluate only those the surrogate
+    // lets through; the others keep their prediction as fitness, which cannot beat their
+    // personal best
+    private void screen(int b, int lo, int hi, SplittableRandom rng) {
+        for (int p = lo; p < hi; p++) {
+            predicted[p] = surrogate.predict(position, p * dimensions, b);
+            screenedAgainst[p] = pbestFitness[p];
+            verdict[p] = surrogate.screen(b, predicted[p], pbestFitness[p], rng.nextDouble());
+            if (verdict[p] == Surrogate.PREDICTED) {
+                fitness[p] = predicted[p];
+            } else {
+                objective.evaluate(position, p, 1, dimensions, fitness);
+            }
+        }
+    }
+
+    private void place(int p, SplittableRandom rng) {
+        double lower = objective.lowerBound();
+        double range = objective.upperBound() - lower;
+        int o = p * dimensions;
+        for (int d = 0; d < dimensions; d++) {
+            position[o + d] = lower + range * rng.nextDouble();
+            velocity[o + d] = range * 0.1 * (rng.nextDouble() - 0.5);
+        }
+    }
+
+    // Fold the partition bests into the global best, in partition order so ties resolve the
+    // same way for any thread count
+    private void reduceBest() {
+        int improved = 0;
+        for (int b = 0; b < numPartitions; b++) {
+            int p = partitionBest[b];
+            if (p >= 0 && pbestFitness[p] < gbestFitness) {
+                gbestFitness = pbestFitness[p];
+                System.arraycopy(pbest, p * dimensions, gbest, 0, dimensions);
+            }
+            improved += partitionImproved[b];
+        }
+        successRate = (double) improved / numParticles;
+    }
+
+    // Point every particle at the best personal best in its neighbourhood
+    private void chooseLeaders() {
+        switch (topology) {
+            case GLOBAL:
+                return;
+            case RING:
+                for (int p = 0; p < numParticles; p++) {
+                    int best = better(p, p == 0 ? numParticles - 1 : p - 1);
+                    leader[p] = better(best, p == numParticles - 1 ? 0 : p + 1);
+                }
+                return;
+            case VON_NEUMANN: {
+                int columns = (int) Math.ceil(Math.sqrt(numParticles));
+                for (int p = 0; p < numParticles; p++) {
+                    int best = better(p, Math.floorMod(p - 1, numParticles));
+                    best = better(best, Math.floorMod(p + 1, numParticles));
+                    best = better(best, Math.floorMod(p - columns, numParticles));
+                    leader[p] = better(best, Math.floorMod(p + columns, numParticles));
+                }
+                return;
+            }
+            case RANDOM:
+                for (int p = 0; p < numParticles; p++) {
+                    int best = p;
+                    for (int k = 0; k < INFORMANTS; k++) {
+                        best = better(best, informants[p * INFORMANTS + k]);
+                    }
+                    leader[p] = best;
+                }
+                return;
+            default:
+                throw new IllegalStateException("Unknown topology " + topology);
+        }
+    }
+
+    private int better(int a, int b) {
+        return pbestFitness[b] < pbestFitness[a] ? b : a;
+    }
+
+    private void drawInformants() {
+        SplittableRandom rng = split();
+        for (int i = 0; i < informants.length; i++) {
+            informants[i] = rng.nextInt(numParticles);
+        }
+    }
+
+    // Count iterations without an improvement larger than tolerance; on reaching the patience
+    // limit either re-place part of the swarm or, with no restarts left, end the run
+    private void checkStagnation() {
+        if (gbestFitness < stagnationReference - tolerance) {
+            stagnationReference = gbestFitness;
+            stagnantIterations = 0;
+            return;
+        }
+        if (++stagnantIterations < stagnationPatience) {
+            return;
+        }
+        stagnantIterations = 0;
+        stagnationReference = gbestFitness;
+        if (restarts == maxRestarts) {
+            exhausted = true;
+            return;
+        }
+        restarts++;
+        reinitialize();
+    }
+
+    // Re-place a random fraction of the particles, forgetting their personal bests; the
+    // global best is kept
+    private void reinitialize() {
+        SplittableRandom rng = split();
+        int count = (int) Math.round(numParticles * reinitFraction);
+        for (int i = 0; i < count; i++) {
+            int p = rng.nextInt(numParticles);
+            place(p, rng);
+            objective.evaluate(position, p, 1, dimensions, fitness);
+            pbestFitness[p] = fitness[p];
+            System.arraycopy(position, p * dimensions, pbest, p * dimensions, dimensions);
+            if (surrogate != null) {
+                surrogate.add(position, p * dimensions, fitness[p]);
+                verdict[p] = Surrogate.EVALUATED;
+            }
+        }
+        evaluations += count;
+        successRate = 1.0;
+    }
+
+    public double[] bestPosition() {
+        return gbest;
+    }
+
+    public double bestFitness() {
+        return gbestFitness;
+    }
+
+    public int iteration() {
+        return iteration;
+    }
+
+    public long evaluations() {
+        return evaluations;
+    }
+
+    public int restarts() {
+        return restarts;
+    }
+}
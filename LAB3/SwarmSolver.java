@@ -0,0 +1,57 @@
+import java.util.function.Consumer;
+
+// Solver for one continuous minimisation problem on the SoA swarm, with no static state: every
+// solve() builds its own single-threaded SwarmEngine without telemetry, so any number of these
+// can share a JVM through BatchRunner. The solution is the best position and the objective its
+// fitness. Topology, inertia, budgets and restarts are set on the engine through configure().
+public class SwarmSolver implements Solver<double[]> {
+
+    private final String name;
+    private final Objective objective;
+    private final int dimensions;
+    private final long seed;
+
+    private int numParticles = 200;
+    private int maxIterations = 50000;
+    private Consumer<SwarmEngine> configure = swarm -> { };
+
+    public SwarmSolver(String name, Objective objective, int dimensions, long seed) {
+        this.name = name;
+        this.objective = objective;
+        this.dimensions = dimensions;
+        this.seed = seed;
+    }
+
+    public SwarmSolver particles(int numParticles) {
+        this.numParticles = numParticles;
+        return this;
+    }
+
+    public SwarmSolver maxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+        return this;
+    }
+
+    // Extra engine settings applied to each fresh engine, e.g. s -> s.topology(Topology.RING)
+    public SwarmSolver configure(Consumer<SwarmEngine> configure) {
+        this.configure = configure;
+        return this;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Solution<double[]> solve() {
+        long start = System.nanoTime();
+        SwarmEngine swarm = new SwarmEngine(dimensions, numParticles, seed)
+                .objective(objective)
+                .maxIterations(maxIterations)
+                .telemetry(Telemetry.off());
+        configure.accept(swarm);
+        double[] best = swarm.run();
+        return Solution.of(name, best, swarm.bestFitness(), swarm.iteration(), System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,39 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// VelocityKernel on the incubating Vector API: the update runs on SPECIES_PREFERRED lanes
+// (4 doubles with AVX2, 8 with AVX-512) with a scalar tail. Compile and run with
+// --add-modules jdk.incubator.vector; VelocityKernel.best() only loads this class when the
+// module is present. Lanes multiply and add in the scalar loop's order, without fusing, so both
+// kernels give bit-identical swarms.
+public class VectorVelocityKernel implements VelocityKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void update(double[] position, double[] velocity, double[] pbest, int offset,
+                       double[] social, int socialOffset, double[] r1, double[] r2, int dims,
+                       double w, double c1, double c2) {
+        int d = 0;
+        int bound = SPECIES.loopBound(dims);
+        for (; d < bound; d += SPECIES.length()) {
+            int i = offset + d;
+            DoubleVector x = DoubleVector.fromArray(SPECIES, position, i);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, velocity, i);
+            DoubleVector cognitive = DoubleVector.fromArray(SPECIES, r1, d).mul(c1)
+                    .mul(DoubleVector.fromArray(SPECIES, pbest, i).sub(x));
+            DoubleVector attraction = DoubleVector.fromArray(SPECIES, r2, d).mul(c2)
+                    .mul(DoubleVector.fromArray(SPECIES, social, socialOffset + d).sub(x));
+            v = v.mul(w).add(cognitive).add(attraction);
+            v.intoArray(velocity, i);
+            x.add(v).intoArray(position, i);
+        }
+        for (; d < dims; d++) {
+            int i = offset + d;
+            double x = position[i];
+            double v = w * velocity[i] + c1 * r1[d] * (pbest[i] - x) + c2 * r2[d] * (social[socialOffset + d] - x);
+            velocity[i] = v;
+            position[i] = x + v;
+        }
+    }
+}
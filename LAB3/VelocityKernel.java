@@ -0,0 +1,36 @@
+// Velocity and position update for one particle stored at [offset, offset + dims) of the flat
+// swarm arrays:
+//   v = w * v + c1 * r1 * (pbest - x) + c2 * r2 * (social - x);  x += v
+// social is the particle's neighbourhood best, stored at [socialOffset, socialOffset + dims).
+// r1 and r2 hold one uniform random number per dimension, drawn by the caller.
+public interface VelocityKernel {
+
+    void update(double[] position, double[] velocity, double[] pbest, int offset,
+                double[] social, int socialOffset, double[] r1, double[] r2, int dims,
+                double w, double c1, double c2);
+
+    // The Vector API kernel if the jdk.incubator.vector module is present
+    // (run with --add-modules jdk.incubator.vector), otherwise the scalar loop
+    static VelocityKernel best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (VelocityKernel) Class.forName("VectorVelocityKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar kernel
+            }
+        }
+        return scalar();
+    }
+
+    static VelocityKernel scalar() {
+        return (position, velocity, pbest, offset, social, socialOffset, r1, r2, dims, w, c1, c2) -> {
+            for (int d = 0; d < dims; d++) {
+                int i = offset + d;
+                double x = position[i];
+                double v = w * velocity[i] + c1 * r1[d] * (pbest[i] - x) + c2 * r2[d] * (social[socialOffset + d] - x);
+                velocity[i] = v;
+                position[i] = x + v;
+            }
+        };
+    }
+}
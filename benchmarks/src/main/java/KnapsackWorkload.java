@@ -0,0 +1,97 @@
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import bench.KnapsackHotPaths;
+
+// Knapsack inputs for bench.KnapsackBenchmark. Lives in the default package so it can reach
+// KnapsackGA's static problem definition.
+public class KnapsackWorkload implements KnapsackHotPaths {
+
+    private static final double MUTATION_RATE = 0.01;
+
+    private List<List<Integer>> population;
+    private List<List<Integer>> parents;
+    private PackedPopulation packed;
+    private PackedPopulation offspring;
+    private int[] mates;
+    private int[] points;
+    private SplittableRandom rng;
+
+    @Override
+    public void setup(int numItems, int populationSize, long seed) {
+        Random random = new Random(seed);
+        int[] weights = new int[numItems];
+        int[] values = new int[numItems];
+        long totalWeight = 0;
+        for (int i = 0; i < numItems; i++) {
+            weights[i] = 1 + random.nextInt(100);
+            values[i] = 1 + random.nextInt(100);
+            totalWeight += weights[i];
+        }
+        KnapsackGA.weights = weights;
+        KnapsackGA.values = values;
+        KnapsackGA.maxWeight = totalWeight / 2;
+
+        population = KnapsackGA.initializePopulation(populationSize, numItems);
+        parents = population.subList(0, Math.max(1, populationSize / 2));
+
+        rng = new SplittableRandom(seed);
+        packed = new PackedPopulation(populationSize, weights, values);
+        offspring = new PackedPopulation(populationSize, weights, values);
+        for (int i = 0; i < populationSize; i++) {
+            packed.randomize(i, rng);
+        }
+        mates = new int[2 * populationSize];
+        points = new int[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            mates[2 * i] = rng.nextInt(populationSize);
+            mates[2 * i + 1] = rng.nextInt(populationSize);
+            points[i] = rng.nextInt(numItems);
+        }
+    }
+
+    @Override
+    public Object listFitness() {
+        return KnapsackGA.calculateFitness(population);
+    }
+
+    @Override
+    public Object listCrossover() {
+        return KnapsackGA.crossover(parents, population.size());
+    }
+
+    @Override
+    public Object listMutate() {
+        return KnapsackGA.mutate(population, MUTATION_RATE);
+    }
+
+    @Override
+    public long packedFitness() {
+        long sum = 0;
+        for (int i = 0; i < packed.size; i++) {
+            packed.recompute(i);
+            sum += packed.totalValue(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public long packedCrossover() {
+        long sum = 0;
+        for (int i = 0; i < offspring.size; i++) {
+            offspring.crossover(i, packed, mates[2 * i], mates[2 * i + 1], points[i]);
+            sum += offspring.totalValue(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public long packedMutate() {
+        long flips = 0;
+        for (int i = 0; i < offspring.size; i++) {
+            flips += offspring.mutate(i, MUTATION_RATE, rng);
+        }
+        return flips;
+    }
+}
@@ -0,0 +1,78 @@
+import java.util.SplittableRandom;
+
+import bench.SwarmHotPaths;
+
+// PSO inputs for bench.SwarmBenchmark
+public class SwarmWorkload implements SwarmHotPaths {
+
+    // Standard constriction-equivalent coefficients; keep the benchmark swarm from diverging
+    private static final double W = 0.7298;
+    private static final double C = 1.49618;
+
+    private int dimensions;
+    private int numParticles;
+    private double[] position;
+    private double[] velocity;
+    private double[] pbest;
+    private double[] gbest;
+    private double[] r1;
+    private double[] r2;
+    private VelocityKernel scalar;
+    private VelocityKernel vector;
+    private SwarmEngine engine;
+
+    @Override
+    public void setup(int dimensions, int numParticles, long seed) {
+        this.dimensions = dimensions;
+        this.numParticles = numParticles;
+        SplittableRandom rng = new SplittableRandom(seed);
+        int size = dimensions * numParticles;
+        position = new double[size];
+        velocity = new double[size];
+        pbest = new double[size];
+        for (int i = 0; i < size; i++) {
+            position[i] = -10 + 20 * rng.nextDouble();
+            velocity[i] = -1 + 2 * rng.nextDouble();
+            pbest[i] = -10 + 20 * rng.nextDouble();
+        }
+        gbest = new double[dimensions];
+        r1 = new double[dimensions];
+        r2 = new double[dimensions];
+        for (int d = 0; d < dimensions; d++) {
+            r1[d] = rng.nextDouble();
+            r2[d] = rng.nextDouble();
+        }
+        scalar = VelocityKernel.scalar();
+        vector = VelocityKernel.best();
+        engine = new SwarmEngine(dimensions, numParticles, seed).coefficients(W, C, C);
+        engine.initialize();
+    }
+
+    @Override
+    public double scalarVelocity() {
+        return update(scalar);
+    }
+
+    @Override
+    public double vectorVelocity() {
+        return update(vector);
+    }
+
+    private double update(VelocityKernel kernel) {
+        for (int p = 0; p < numParticles; p++) {
+            kernel.update(position, velocity, pbest, p * dimensions, gbest, 0, r1, r2, dimensions, W, C, C);
+        }
+        return position[0];
+    }
+
+    @Override
+    public double step() {
+        engine.step();
+        return engine.bestFitness();
+    }
+
+    @Override
+    public String vectorKernel() {
+        return vector.getClass().getName();
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import bench.TspHotPaths;
+
+// TSP inputs for bench.TspBenchmark. Lives in the default package so it can reach the static
+// instance of TSPGeneticAlgorithm.
+public class TspWorkload implements TspHotPaths {
+
+    private List<List<Integer>> population;
+    private List<Double> scores;
+    private double[] fitness;
+    private int[][] tours;
+    private int[] child;
+    private PermutationCrossover crossover;
+    private SplittableRandom rng;
+
+    @Override
+    public void setup(int numCities, int populationSize, long seed) {
+        Random random = new Random(seed);
+        double[][] cities = new double[numCities][];
+        for (int i = 0; i < numCities; i++) {
+            cities[i] = new double[] {random.nextDouble() * 1000, random.nextDouble() * 1000};
+        }
+        TSPGeneticAlgorithm.cities = cities;
+        TSPGeneticAlgorithm.distances = DistanceProvider.forCities(cities);
+        TSPGeneticAlgorithm.candidates = null;
+        TSPGeneticAlgorithm.candidateOperators = null;
+
+        population = TSPGeneticAlgorithm.initializePopulation(populationSize, numCities);
+        fitness = new double[populationSize];
+        TSPGeneticAlgorithm.calculateFitness(population, fitness);
+        scores = new ArrayList<>(populationSize);
+        tours = new int[populationSize][];
+        for (int i = 0; i < populationSize; i++) {
+            scores.add(fitness[i]);
+            tours[i] = TSPGeneticAlgorithm.toArray(population.get(i));
+        }
+        child = new int[numCities];
+        crossover = new PermutationCrossover(numCities);
+        rng = new SplittableRandom(seed);
+    }
+
+    @Override
+    public double tourDistance() {
+        double sum = 0;
+        for (List<Integer> tour : population) {
+            sum += TSPGeneticAlgorithm.tourDistance(tour);
+        }
+        return sum;
+    }
+
+    @Override
+    public double tourLengthPrimitive() {
+        double sum = 0;
+        for (int[] tour : tours) {
+            sum += TSPGeneticAlgorithm.distances.tourLength(tour);
+        }
+        return sum;
+    }
+
+    @Override
+    public Object orderedCrossover() {
+        List<Integer> last = null;
+        for (int i = 0; i + 1 < population.size(); i += 2) {
+            last = TSPGeneticAlgorithm.crossover(population.get(i), population.get(i + 1));
+        }
+        return last;
+    }
+
+    @Override
+    public Object orderedCrossoverPrimitive() {
+        for (int i = 0; i + 1 < tours.length; i += 2) {
+            crossover.ordered(tours[i], tours[i + 1], child, rng);
+        }
+        return child;
+    }
+
+    @Override
+    public Object selectMatingPool() {
+        return TSPGeneticAlgorithm.selectMatingPool(population, fitness, population.size() / 2);
+    }
+
+    @Override
+    public Object selectParents() {
+        return TSPGeneExpression.selectParents(population, scores, population.size() / 2);
+    }
+}
@@ -0,0 +1,41 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point of benchmarks.jar. Accepts the usual JMH command line, but unless told
+// otherwise attaches the GC profiler (allocation rate and bytes per operation) and writes the
+// results to jmh-result.csv for CompareResults.
+//
+//   java -jar benchmarks/target/benchmarks.jar                      all benchmarks
+//   java -jar benchmarks/target/benchmarks.jar Tsp -p numCities=1000
+//   java -cp benchmarks/target/benchmarks.jar bench.CompareResults before.csv jmh-result.csv
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (cmd.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.CSV);
+        }
+        if (!cmd.getResult().hasValue()) {
+            options.result("jmh-result.csv");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,133 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compares two JMH CSV result files (e.g. before and after an optimization) and flags every
+// benchmark whose score got worse by more than the threshold: slower for time modes, lower
+// for throughput, or more bytes allocated per operation (gc.alloc.rate.norm, ignoring changes
+// below one object header's worth). Other profiler metrics are skipped. Exits with status 1
+// if anything regressed, so it can gate a build.
+//
+//   CompareResults <baseline.csv> <current.csv> [threshold percent, default 5]
+public final class CompareResults {
+
+    // Allocation changes smaller than this many bytes per operation are noise
+    private static final double ALLOCATION_SLACK = 16;
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <baseline.csv> <current.csv> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 5.0;
+        Map<String, Row> baseline = read(Path.of(args[0]));
+        Map<String, Row> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Row> entry : current.entrySet()) {
+            Row before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            Row after = entry.getValue();
+            double change = before.score == 0 ? 0 : 100.0 * (after.score - before.score) / before.score;
+            double worse = after.higherIsBetter() ? -change : change;
+            boolean regressed = worse > threshold;
+            if (after.isAllocation()) {
+                regressed = after.score - before.score > Math.max(ALLOCATION_SLACK, before.score * threshold / 100);
+            }
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%s %-70s %14.3f -> %14.3f %-10s %+7.1f%%%n",
+                    regressed ? "REGRESSION" : "          ", entry.getKey(), before.score, after.score, after.unit, change);
+        }
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static final class Row {
+        final String benchmark;
+        final String mode;
+        final double score;
+        final String unit;
+
+        Row(String benchmark, String mode, double score, String unit) {
+            this.benchmark = benchmark;
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt") && !isAllocation();
+        }
+
+        boolean isAllocation() {
+            return benchmark.endsWith(":gc.alloc.rate.norm");
+        }
+    }
+
+    // Rows keyed by benchmark name plus parameter values
+    private static Map<String, Row> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        List<String> header = split(lines.get(0));
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> cells = split(line);
+            String benchmark = cells.get(0);
+            if (benchmark.contains(":") && !benchmark.endsWith(":gc.alloc.rate.norm")) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(benchmark);
+            for (int i = 7; i < cells.size() && i < header.size(); i++) {
+                if (cells.get(i).isEmpty()) {
+                    continue;
+                }
+                key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(cells.get(i));
+            }
+            double score = Double.parseDouble(cells.get(4).replace(',', '.'));
+            rows.put(key.toString(), new Row(benchmark, cells.get(1), score, cells.get(6)));
+        }
+        return rows;
+    }
+
+    // One CSV line with optionally double-quoted cells
+    private static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
@@ -0,0 +1,20 @@
+package bench;
+
+// The solvers live in the default package, which named packages cannot import, and JMH
+// refuses benchmarks in the default package. Each solver therefore gets a small workload class
+// in the default package (next to this package in the benchmarks module) that implements one
+// of the *HotPaths interfaces here; benchmarks load it once by name and then make plain
+// interface calls, which the JIT inlines like direct ones.
+final class HotPaths {
+
+    private HotPaths() {
+    }
+
+    static <T> T load(String className, Class<T> type) {
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load workload " + className, e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One operation = one operator applied to the whole population
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class KnapsackBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int numItems;
+
+    @Param({"100", "1000"})
+    int populationSize;
+
+    private KnapsackHotPaths paths;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        paths = HotPaths.load("KnapsackWorkload", KnapsackHotPaths.class);
+        paths.setup(numItems, populationSize, 42);
+    }
+
+    @Benchmark
+    public Object listFitness() {
+        return paths.listFitness();
+    }
+
+    @Benchmark
+    public Object listCrossover() {
+        return paths.listCrossover();
+    }
+
+    @Benchmark
+    public Object listMutate() {
+        return paths.listMutate();
+    }
+
+    @Benchmark
+    public long packedFitness() {
+        return paths.packedFitness();
+    }
+
+    @Benchmark
+    public long packedCrossover() {
+        return paths.packedCrossover();
+    }
+
+    @Benchmark
+    public long packedMutate() {
+        return paths.packedMutate();
+    }
+}
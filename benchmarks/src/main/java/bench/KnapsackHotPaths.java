@@ -0,0 +1,26 @@
+package bench;
+
+// Knapsack GA operators on the legacy List<Integer> representation and the packed engine
+public interface KnapsackHotPaths {
+
+    // Random instance of numItems items and a random population of populationSize genomes
+    void setup(int numItems, int populationSize, long seed);
+
+    // KnapsackGA.calculateFitness over the whole population
+    Object listFitness();
+
+    // KnapsackGA.crossover breeding a full population from the first half
+    Object listCrossover();
+
+    // KnapsackGA.mutate over the whole population
+    Object listMutate();
+
+    // PackedPopulation.recompute (full rescan of every genome)
+    long packedFitness();
+
+    // PackedPopulation.crossover breeding a full population
+    long packedCrossover();
+
+    // PackedPopulation.mutate over the whole population
+    long packedMutate();
+}
@@ -0,0 +1,56 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One operation = one update of the whole swarm
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class SwarmBenchmark {
+
+    @Param({"2", "30", "1000"})
+    int dimensions;
+
+    @Param({"200", "2000"})
+    int numParticles;
+
+    private SwarmHotPaths paths;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        paths = HotPaths.load("SwarmWorkload", SwarmHotPaths.class);
+        paths.setup(dimensions, numParticles, 42);
+        System.out.println("# Vector kernel: " + paths.vectorKernel());
+    }
+
+    @Benchmark
+    public double scalarVelocity() {
+        return paths.scalarVelocity();
+    }
+
+    @Benchmark
+    public double vectorVelocity() {
+        return paths.vectorVelocity();
+    }
+
+    @Benchmark
+    public double step() {
+        return paths.step();
+    }
+}
@@ -0,0 +1,20 @@
+package bench;
+
+// PSO velocity/position update and full iteration
+public interface SwarmHotPaths {
+
+    // Random swarm of numParticles particles in the given number of dimensions
+    void setup(int dimensions, int numParticles, long seed);
+
+    // Scalar VelocityKernel over the whole swarm
+    double scalarVelocity();
+
+    // VelocityKernel.best() (Vector API when available) over the whole swarm
+    double vectorVelocity();
+
+    // One SwarmEngine iteration: random coefficients, velocity update, evaluation and bests
+    double step();
+
+    // Class name of the kernel vectorVelocity runs
+    String vectorKernel();
+}
@@ -0,0 +1,70 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One operation = one pass over the whole population
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class TspBenchmark {
+
+    @Param({"100", "1000"})
+    int numCities;
+
+    @Param({"100", "1000"})
+    int populationSize;
+
+    private TspHotPaths paths;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        paths = HotPaths.load("TspWorkload", TspHotPaths.class);
+        paths.setup(numCities, populationSize, 42);
+    }
+
+    @Benchmark
+    public double tourDistance() {
+        return paths.tourDistance();
+    }
+
+    @Benchmark
+    public double tourLengthPrimitive() {
+        return paths.tourLengthPrimitive();
+    }
+
+    @Benchmark
+    public Object orderedCrossover() {
+        return paths.orderedCrossover();
+    }
+
+    @Benchmark
+    public Object orderedCrossoverPrimitive() {
+        return paths.orderedCrossoverPrimitive();
+    }
+
+    @Benchmark
+    public Object selectMatingPool() {
+        return paths.selectMatingPool();
+    }
+
+    @Benchmark
+    public Object selectParents() {
+        return paths.selectParents();
+    }
+}
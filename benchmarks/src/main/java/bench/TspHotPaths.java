@@ -0,0 +1,26 @@
+package bench;
+
+// TSP GA and gene expression hot paths on the legacy List<Integer> tours and int[] tours
+public interface TspHotPaths {
+
+    // Random instance of numCities cities and a random population of populationSize tours
+    void setup(int numCities, int populationSize, long seed);
+
+    // TSPGeneticAlgorithm.tourDistance over the whole population
+    double tourDistance();
+
+    // DistanceProvider.tourLength(int[]) over the whole population
+    double tourLengthPrimitive();
+
+    // TSPGeneticAlgorithm.crossover (OX) on consecutive pairs
+    Object orderedCrossover();
+
+    // PermutationCrossover.ordered on consecutive pairs
+    Object orderedCrossoverPrimitive();
+
+    // TSPGeneticAlgorithm.selectMatingPool drawing half the population
+    Object selectMatingPool();
+
+    // TSPGeneExpression.selectParents keeping the best half of the population
+    Object selectParents();
+}
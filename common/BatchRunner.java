@@ -0,0 +1,156 @@
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Runs many independent solvers in one JVM and hands back each Solution as soon as it finishes.
+// Every solver gets its own virtual thread (JDK 21+; looked up reflectively so the sources still
+// build for 17, where a fixed pool of platform threads is used instead). Solving is CPU-bound,
+// so a semaphore lets only parallelism solvers run at once: the rest wait parked without a
+// carrier thread and without having allocated their engine yet.
+//
+// A solver that throws is reported as a failed Solution rather than ending the batch, and so
+// is one that never got to run because the runner was closed.
+public class BatchRunner implements AutoCloseable {
+
+    private final int parallelism;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final boolean virtual;
+
+    // One running solver per available core
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchRunner(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1");
+        }
+        this.parallelism = parallelism;
+        this.permits = new Semaphore(parallelism);
+        ExecutorService virtualExecutor = virtualThreadExecutor();
+        this.virtual = virtualExecutor != null;
+        this.executor = virtual ? virtualExecutor : Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "batch-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() where the runtime has it, null otherwise
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // Start every solver and stream their solutions in completion order. Solving starts right
+    // away; each element of the stream blocks until the next solver finishes.
+    public Stream<Solution<?>> stream(Collection<? extends Solver<?>> solvers) {
+        BlockingQueue<Solution<?>> finished = new LinkedBlockingQueue<>();
+        for (Solver<?> solver : solvers) {
+            executor.execute(new Task(solver, finished));
+        }
+        int count = solvers.size();
+        Iterator<Solution<?>> results = new Iterator<>() {
+            private int remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public Solution<?> next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    Solution<?> solution = finished.take();
+                    remaining--;
+                    return solution;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("interrupted while waiting for solutions");
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(results, count,
+                Spliterator.SIZED | Spliterator.NONNULL), false);
+    }
+
+    // One submitted solver and the queue its solution goes to
+    private final class Task implements Runnable {
+        private final Solver<?> solver;
+        private final BlockingQueue<Solution<?>> finished;
+
+        Task(Solver<?> solver, BlockingQueue<Solution<?>> finished) {
+            this.solver = solver;
+            this.finished = finished;
+        }
+
+        @Override
+        public void run() {
+            finished.add(solve(solver));
+        }
+
+        // Report the solver as failed without running it, so the stream still ends
+        void cancel() {
+            finished.add(Solution.failed(solver.name(), new CancellationException("batch runner closed"), 0));
+        }
+    }
+
+    // Wait for a permit, then run the solver on this thread
+    private Solution<?> solve(Solver<?> solver) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            return Solution.failed(solver.name(), e, 0);
+        }
+        long start = System.nanoTime();
+        try {
+            return solver.solve();
+        } catch (Throwable e) {
+            return Solution.failed(solver.name(), e, System.nanoTime() - start);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Solve all of solvers on a default runner, printing every solution as soon as it finishes
+    public static void printAll(Collection<? extends Solver<?>> solvers) {
+        try (BatchRunner runner = new BatchRunner()) {
+            runner.stream(solvers).forEach(System.out::println);
+        }
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    // Whether solvers run on virtual threads (false: fixed platform thread pool)
+    public boolean virtualThreads() {
+        return virtual;
+    }
+
+    // Interrupt waiting solvers and stop accepting new ones; running engines finish their run.
+    // Solvers still queued on the platform pool are reported as cancelled.
+    @Override
+    public void close() {
+        for (Runnable task : executor.shutdownNow()) {
+            if (task instanceof Task) ((Task) task).cancel();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+
+// Periodic binary snapshots of a solver's state. The solver thread serializes into a reusable
+// little-endian buffer (bulk array copies, no per-element calls), then a background thread
+// writes it to a sibling temp file and atomically renames it over the checkpoint, so the file
+// on disk is always a complete snapshot. If the previous write is still in flight when the
+// next checkpoint is due, that checkpoint is skipped rather than stalling the solver.
+//
+// File layout: int magic (solver specific), int VERSION, long payload length, payload.
+// Checkpoints are read back through a read-only memory map.
+//
+// The checkpoint file and its interval can be set for the command-line drivers with
+// -Dcheckpoint=<file> and -Dcheckpoint.interval=<generations> (default 100).
+public final class Checkpoint implements AutoCloseable {
+
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private final Path path;
+    private final Path temp;
+    private final int magic;
+    private final int interval;
+    private final ExecutorService writer;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(0);
+    private Future<?> inFlight;
+    private long written;
+    private long skipped;
+
+    public Checkpoint(Path path, int magic, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be >= 1");
+        }
+        this.path = path;
+        this.temp = path.resolveSibling(path.getFileName() + ".tmp");
+        this.magic = magic;
+        this.interval = interval;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Checkpoint file named by -Dcheckpoint, or null if the property is not set
+    public static Path configuredPath() {
+        String value = System.getProperty("checkpoint");
+        return value == null || value.isEmpty() ? null : Path.of(value);
+    }
+
+    public static int configuredInterval() {
+        return Integer.getInteger("checkpoint.interval", 100);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    // Whether a snapshot is due after the given generation
+    public boolean due(long generation) {
+        return generation % interval == 0;
+    }
+
+    // Buffer to serialize a payload of payloadBytes into, positioned after the header, or
+    // null if the previous snapshot is still being written
+    public ByteBuffer begin(int payloadBytes) {
+        if (inFlight != null) {
+            if (!inFlight.isDone()) {
+                skipped++;
+                return null;
+            }
+            finish();
+        }
+        int size = HEADER_BYTES + payloadBytes;
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        buffer.clear().limit(size);
+        buffer.putInt(magic).putInt(VERSION).putLong(payloadBytes);
+        return buffer;
+    }
+
+    // Hand the buffer filled since begin() to the writer thread
+    public void commit(ByteBuffer filled) {
+        if (filled.hasRemaining()) {
+            throw new IllegalStateException("checkpoint payload is " + filled.remaining() + " bytes short");
+        }
+        filled.flip();
+        inFlight = writer.submit(() -> {
+            write(filled);
+            return null;
+        });
+    }
+
+    private void write(ByteBuffer data) throws IOException {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Wait for the write in flight, surfacing its failure
+    private void finish() {
+        try {
+            inFlight.get();
+            written++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException("Checkpoint write to " + path + " failed",
+                    e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause()));
+        } finally {
+            inFlight = null;
+        }
+    }
+
+    public long written() {
+        return written;
+    }
+
+    public long skipped() {
+        return skipped;
+    }
+
+    // Wait for the last snapshot to reach the disk, e.g. at the end of a run
+    public void await() {
+        if (inFlight != null) {
+            finish();
+        }
+    }
+
+    // await() and stop the writer thread
+    @Override
+    public void close() {
+        await();
+        writer.shutdown();
+    }
+
+    // Map a checkpoint file and return its payload, after checking magic and version
+    public static ByteBuffer read(Path path, int magic) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            if (data.remaining() < HEADER_BYTES || data.getInt() != magic) {
+                throw new IOException(path + " is not a checkpoint of this solver");
+            }
+            int version = data.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + ": unsupported checkpoint version " + version);
+            }
+            long length = data.getLong();
+            if (length != data.remaining()) {
+                throw new IOException(path + ": truncated checkpoint");
+            }
+            return data.slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    // Bulk array helpers; each advances the buffer position past the array
+
+    public static void put(ByteBuffer out, int[] values, int count) {
+        out.asIntBuffer().put(values, 0, count);
+        out.position(out.position() + count * Integer.BYTES);
+    }
+
+    public static void put(ByteBuffer out, long[] values, int count) {
+        out.asLongBuffer().put(values, 0, count);
+        out.position(out.position() + count * Long.BYTES);
+    }
+
+    public static void put(ByteBuffer out, double[] values, int count) {
+        out.asDoubleBuffer().put(values, 0, count);
+        out.position(out.position() + count * Double.BYTES);
+    }
+
+    public static void get(ByteBuffer in, int[] values, int count) {
+        in.asIntBuffer().get(values, 0, count);
+        in.position(in.position() + count * Integer.BYTES);
+    }
+
+    public static void get(ByteBuffer in, long[] values, int count) {
+        in.asLongBuffer().get(values, 0, count);
+        in.position(in.position() + count * Long.BYTES);
+    }
+
+    public static void get(ByteBuffer in, double[] values, int count) {
+        in.asDoubleBuffer().get(values, 0, count);
+        in.position(in.position() + count * Double.BYTES);
+    }
+}
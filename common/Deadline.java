@@ -0,0 +1,38 @@
+import java.time.Duration;
+
+// Wall-clock budget of an anytime run, checked once per generation. A check is a single
+// System.nanoTime() read, negligible next to a generation. It also reports expiry when the time
+// left is shorter than the previous generation took, so the run stops one generation early
+// instead of overrunning the budget by a whole generation. One Deadline per run; not thread-safe.
+public final class Deadline {
+
+    private final long end;
+    private long last;     // nanoTime at the previous check
+    private long lastStep; // Time between the last two checks
+
+    private Deadline(long budgetNanos) {
+        this.last = System.nanoTime();
+        this.end = last + budgetNanos;
+    }
+
+    // Budget counted from now
+    public static Deadline after(Duration budget) {
+        return new Deadline(budget.toNanos());
+    }
+
+    public static Deadline afterMillis(long millis) {
+        return new Deadline(millis * 1_000_000L);
+    }
+
+    // True once another generation as long as the last one would not finish in time
+    public boolean expired() {
+        long now = System.nanoTime();
+        lastStep = now - last;
+        last = now;
+        return end - now < lastStep;
+    }
+
+    public long remainingNanos() {
+        return Math.max(0, end - System.nanoTime());
+    }
+}
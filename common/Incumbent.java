@@ -0,0 +1,80 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Best-so-far solution of a running solver, for callers that cannot wait for convergence. The
+// solver thread offers every improvement; any thread can take the latest one with get(), and Flow
+// subscribers receive the improvements asynchronously on the publisher's executor.
+//
+// Offers never block the solver. A subscriber that falls more than its buffer behind misses
+// intermediate improvements, but close() always delivers the final best before onComplete.
+// Times in the published solutions are counted from when the Incumbent was created. The caller
+// owns the Incumbent and closes it once the run has returned.
+public final class Incumbent<T> implements Flow.Publisher<Solution<T>>, AutoCloseable {
+
+    private final String name;
+    private final SubmissionPublisher<Solution<T>> publisher;
+    private final long start = System.nanoTime();
+    private volatile Solution<T> latest;
+    private boolean latestDropped; // Solver thread only, then close()
+
+    public Incumbent(String name) {
+        this(name, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    public Incumbent(String name, Executor executor, int bufferCapacity) {
+        this.name = name;
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Solution<T>> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    // Subscribe a plain callback; the future completes after close() has delivered the last one
+    public CompletableFuture<Void> consume(Consumer<? super Solution<T>> action) {
+        return publisher.consume(action);
+    }
+
+    // Run solve with a fresh Incumbent that prints every improvement as it is published, and
+    // return its result once the last improvement has been printed
+    public static <T> Solution<T> printing(String name, Function<Incumbent<T>, Solution<T>> solve) {
+        Incumbent<T> incumbent = new Incumbent<>(name);
+        CompletableFuture<Void> printed = incumbent.consume(best -> System.out.println("  " + best));
+        Solution<T> result;
+        try {
+            result = solve.apply(incumbent);
+        } finally {
+            incumbent.close();
+        }
+        printed.join();
+        return result;
+    }
+
+    // Record a new best; best must not be modified afterwards
+    public void offer(T best, double objective, long iterations) {
+        Solution<T> solution = Solution.of(name, best, objective, iterations, System.nanoTime() - start);
+        latest = solution;
+        latestDropped = publisher.offer(solution, null) < 0;
+    }
+
+    // Latest best offered, null before the first
+    public Solution<T> get() {
+        return latest;
+    }
+
+    // Deliver the final best if a lagging subscriber dropped it, then complete every subscriber
+    @Override
+    public void close() {
+        Solution<T> last = latest;
+        if (latestDropped && last != null && !publisher.isClosed()) {
+            publisher.submit(last);
+        }
+        publisher.close();
+    }
+}
@@ -0,0 +1,66 @@
+// Outcome of one Solver run: the best solution found, its objective in the solver's own units
+// (knapsack value, tour length, swarm fitness), the generations or iterations it took and the
+// wall-clock time. A run that threw carries the error instead of a solution.
+public final class Solution<T> {
+
+    private final String name;
+    private final T best;
+    private final double objective;
+    private final long iterations;
+    private final long nanos;
+    private final Throwable error;
+
+    private Solution(String name, T best, double objective, long iterations, long nanos, Throwable error) {
+        this.name = name;
+        this.best = best;
+        this.objective = objective;
+        this.iterations = iterations;
+        this.nanos = nanos;
+        this.error = error;
+    }
+
+    public static <T> Solution<T> of(String name, T best, double objective, long iterations, long nanos) {
+        return new Solution<>(name, best, objective, iterations, nanos, null);
+    }
+
+    public static <T> Solution<T> failed(String name, Throwable error, long nanos) {
+        return new Solution<>(name, null, Double.NaN, 0, nanos, error);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // Best solution found, null if the run failed
+    public T best() {
+        return best;
+    }
+
+    public double objective() {
+        return objective;
+    }
+
+    public long iterations() {
+        return iterations;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public boolean failed() {
+        return error != null;
+    }
+
+    public Throwable error() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        if (error != null) {
+            return String.format("%s: failed after %.1f ms: %s", name, nanos / 1e6, error);
+        }
+        return String.format("%s: objective %.4f after %d iterations in %.1f ms", name, objective, iterations, nanos / 1e6);
+    }
+}
@@ -0,0 +1,11 @@
+// One solver run described as a value: a problem instance, its parameters and a seed. solve()
+// builds a fresh engine and keeps all run state in it, so solvers share nothing and any number
+// of them can run side by side in one JVM (see BatchRunner). Calling solve() twice repeats the
+// same seeded run.
+public interface Solver<T> {
+
+    // Label carried into the Solution, typically the instance name
+    String name();
+
+    Solution<T> solve();
+}
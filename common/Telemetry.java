@@ -0,0 +1,299 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+// Per-generation run metrics shared by all solvers (compile a lab on its own with
+// javac -sourcepath ../common). The solver thread records one sample per generation into a
+// preallocated ring buffer; a background thread drains it into a TelemetryExporter (CSV, JFR
+// events or the console), so no I/O happens on the generation loop.
+//
+// A sample holds best, mean and worst fitness in the solver's own units, population diversity
+// (NaN where the solver does not track it), evaluations and evaluations per second, bytes
+// allocated by the solver thread and wall-clock time split into phases.
+//
+// Telemetry.off() is a shared disabled instance: every recording method returns on its first
+// check, and callers guard any statistics they would compute only for telemetry with
+// enabled(). Each instance expects a single recording thread at a time.
+public final class Telemetry implements AutoCloseable {
+
+    // Wall-clock phases of a generation
+    public enum Phase {
+        SELECT,   // Parent selection
+        VARY,     // Crossover, mutation, particle moves (and evaluation where it is fused in)
+        EVALUATE, // Fitness evaluation
+        UPDATE    // Best-so-far, convergence and bookkeeping
+    }
+
+    static final int PHASES = Phase.values().length;
+
+    private static final Telemetry OFF = new Telemetry();
+    private static volatile Telemetry global;
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(Telemetry.class, "head", long.class);
+            TAIL = lookup.findVarHandle(Telemetry.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final boolean enabled;
+    private final int mask;
+    private final TelemetryExporter exporter;
+    private final com.sun.management.ThreadMXBean allocation;
+
+    // Ring buffer, one column per metric; slot = sequence & mask
+    private final String[] run;
+    private final long[] generation;
+    private final double[] best;
+    private final double[] mean;
+    private final double[] worst;
+    private final double[] diversity;
+    private final long[] evaluations;
+    private final long[] allocated;
+    private final long[] wallNanos;
+    private final long[] phaseNanos; // PHASES per slot
+
+    // Producer side
+    @SuppressWarnings("unused") // Accessed through HEAD
+    private volatile long head;
+    private long dropped;
+    private String runName = "";
+    private long generationStart;
+    private long lastMark;
+    private long allocationStart;
+    private final long[] phaseAccumulator = new long[PHASES];
+
+    // Consumer side
+    @SuppressWarnings("unused") // Accessed through TAIL
+    private volatile long tail;
+    private volatile boolean closed;
+    private final Thread drainer;
+
+    private Telemetry() {
+        enabled = false;
+        mask = 0;
+        exporter = null;
+        allocation = null;
+        run = null;
+        generation = evaluations = allocated = wallNanos = phaseNanos = null;
+        best = mean = worst = diversity = null;
+        drainer = null;
+    }
+
+    private Telemetry(int capacity, TelemetryExporter exporter) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.enabled = true;
+        this.mask = capacity - 1;
+        this.exporter = exporter;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        this.allocation = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                ? (com.sun.management.ThreadMXBean) threads : null;
+        run = new String[capacity];
+        generation = new long[capacity];
+        best = new double[capacity];
+        mean = new double[capacity];
+        worst = new double[capacity];
+        diversity = new double[capacity];
+        evaluations = new long[capacity];
+        allocated = new long[capacity];
+        wallNanos = new long[capacity];
+        phaseNanos = new long[capacity * PHASES];
+        drainer = new Thread(this::drain, "telemetry-export");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    // Shared disabled instance
+    public static Telemetry off() {
+        return OFF;
+    }
+
+    // Record into a ring of capacity samples (a power of two) and export in the background.
+    // Samples are dropped, not waited for, if the exporter falls a full ring behind.
+    public static Telemetry create(int capacity, TelemetryExporter exporter) {
+        return new Telemetry(capacity, exporter);
+    }
+
+    // Process-wide instance chosen by the telemetry system property:
+    //   -Dtelemetry=run.csv    CSV file
+    //   -Dtelemetry=jfr        JFR events (recorded when a recording is running)
+    //   -Dtelemetry=console    one line per generation on standard output
+    // Off when the property is not set. Flushed and closed at JVM exit.
+    public static Telemetry global() {
+        Telemetry telemetry = global;
+        if (telemetry == null) {
+            synchronized (Telemetry.class) {
+                telemetry = global;
+                if (telemetry == null) {
+                    telemetry = fromProperty(System.getProperty("telemetry"));
+                    global = telemetry;
+                }
+            }
+        }
+        return telemetry;
+    }
+
+    private static Telemetry fromProperty(String value) {
+        if (value == null || value.isEmpty()) {
+            return OFF;
+        }
+        TelemetryExporter exporter;
+        if (value.equalsIgnoreCase("jfr")) {
+            exporter = TelemetryExporter.jfr();
+        } else if (value.equalsIgnoreCase("console")) {
+            exporter = TelemetryExporter.console();
+        } else {
+            exporter = TelemetryExporter.csv(Path.of(value));
+        }
+        Telemetry telemetry = create(1 << 14, exporter);
+        Runtime.getRuntime().addShutdownHook(new Thread(telemetry::close, "telemetry-close"));
+        return telemetry;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    // Label the samples that follow, e.g. with the solver name
+    public void beginRun(String name) {
+        if (!enabled) return;
+        runName = name;
+    }
+
+    // Start timing a generation
+    public void beginGeneration() {
+        if (!enabled) return;
+        for (int p = 0; p < PHASES; p++) {
+            phaseAccumulator[p] = 0;
+        }
+        allocationStart = allocatedBytes();
+        generationStart = System.nanoTime();
+        lastMark = generationStart;
+    }
+
+    // Charge the time since the previous mark (or beginGeneration) to phase
+    public void phase(Phase phase) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        phaseAccumulator[phase.ordinal()] += now - lastMark;
+        lastMark = now;
+    }
+
+    // Finish the generation started by beginGeneration and publish its sample
+    public void endGeneration(long gen, double bestFitness, double meanFitness, double worstFitness,
+                              double populationDiversity, long evaluationCount) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        long sequence = (long) HEAD.getOpaque(this);
+        if (sequence - (long) TAIL.getAcquire(this) > mask) {
+            dropped++;
+            return;
+        }
+        int slot = (int) (sequence & mask);
+        run[slot] = runName;
+        generation[slot] = gen;
+        best[slot] = bestFitness;
+        mean[slot] = meanFitness;
+        worst[slot] = worstFitness;
+        diversity[slot] = populationDiversity;
+        evaluations[slot] = evaluationCount;
+        allocated[slot] = allocationStart < 0 ? -1 : allocatedBytes() - allocationStart;
+        wallNanos[slot] = now - generationStart;
+        System.arraycopy(phaseAccumulator, 0, phaseNanos, slot * PHASES, PHASES);
+        HEAD.setRelease(this, sequence + 1);
+    }
+
+    // Samples lost because the exporter could not keep up
+    public long dropped() {
+        return dropped;
+    }
+
+    // Block until every sample recorded so far has been exported
+    public void flush() {
+        if (!enabled) return;
+        long target = (long) HEAD.getAcquire(this);
+        while ((long) TAIL.getAcquire(this) < target && drainer.isAlive()) {
+            LockSupport.unpark(drainer);
+            Thread.onSpinWait();
+        }
+        exporter.flush();
+    }
+
+    // Export what is left and release the exporter
+    @Override
+    public void close() {
+        if (!enabled || closed) return;
+        closed = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exporter.close();
+    }
+
+    private long allocatedBytes() {
+        return allocation == null ? -1 : allocation.getCurrentThreadAllocatedBytes();
+    }
+
+    // Background loop: hand every published sample to the exporter, then sleep briefly
+    private void drain() {
+        TelemetryExporter.Sample sample = new TelemetryExporter.Sample();
+        long next = 0;
+        while (true) {
+            long published = (long) HEAD.getAcquire(this);
+            while (next < published) {
+                int slot = (int) (next & mask);
+                sample.run = run[slot];
+                sample.generation = generation[slot];
+                sample.best = best[slot];
+                sample.mean = mean[slot];
+                sample.worst = worst[slot];
+                sample.diversity = diversity[slot];
+                sample.evaluations = evaluations[slot];
+                sample.allocatedBytes = allocated[slot];
+                sample.wallNanos = wallNanos[slot];
+                System.arraycopy(phaseNanos, slot * PHASES, sample.phaseNanos, 0, PHASES);
+                exporter.accept(sample);
+                next++;
+                TAIL.setRelease(this, next);
+            }
+            if (closed && next == (long) HEAD.getAcquire(this)) {
+                return;
+            }
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    // Mean of values[0..n)
+    public static double mean(double[] values, int n) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) sum += values[i];
+        return sum / n;
+    }
+
+    public static double min(double[] values, int n) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) min = Math.min(min, values[i]);
+        return min;
+    }
+
+    public static double max(double[] values, int n) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) max = Math.max(max, values[i]);
+        return max;
+    }
+}
@@ -0,0 +1,186 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Destination of Telemetry samples. Called only from the telemetry export thread, with one
+// reused Sample, so implementations need no synchronization and must copy what they keep.
+public interface TelemetryExporter {
+
+    void accept(Sample sample);
+
+    default void flush() {
+    }
+
+    default void close() {
+    }
+
+    // One generation's metrics; see Telemetry
+    final class Sample {
+        public String run;
+        public long generation;
+        public double best;
+        public double mean;
+        public double worst;
+        public double diversity;
+        public long evaluations;
+        public long allocatedBytes; // -1 if the JVM cannot measure it
+        public long wallNanos;
+        public final long[] phaseNanos = new long[Telemetry.PHASES];
+
+        public double evaluationsPerSecond() {
+            return wallNanos == 0 ? 0 : evaluations * 1e9 / wallNanos;
+        }
+    }
+
+    // One CSV row per sample with a header line
+    static TelemetryExporter csv(Path path) {
+        return new Csv(path);
+    }
+
+    // One bis.Generation JFR event per sample. Events are committed by the export thread, so
+    // their timestamps trail the generation by the export delay.
+    static TelemetryExporter jfr() {
+        return sample -> {
+            GenerationEvent event = new GenerationEvent();
+            if (!event.isEnabled()) {
+                return;
+            }
+            event.run = sample.run;
+            event.generation = sample.generation;
+            event.best = sample.best;
+            event.mean = sample.mean;
+            event.worst = sample.worst;
+            event.diversity = sample.diversity;
+            event.evaluations = sample.evaluations;
+            event.evaluationsPerSecond = sample.evaluationsPerSecond();
+            event.allocatedBytes = sample.allocatedBytes;
+            event.wallNanos = sample.wallNanos;
+            event.selectNanos = sample.phaseNanos[Telemetry.Phase.SELECT.ordinal()];
+            event.varyNanos = sample.phaseNanos[Telemetry.Phase.VARY.ordinal()];
+            event.evaluateNanos = sample.phaseNanos[Telemetry.Phase.EVALUATE.ordinal()];
+            event.updateNanos = sample.phaseNanos[Telemetry.Phase.UPDATE.ordinal()];
+            event.commit();
+        };
+    }
+
+    // Human-readable progress lines on standard output
+    static TelemetryExporter console() {
+        return sample -> System.out.printf("%s generation %d: best=%.6g mean=%.6g worst=%.6g diversity=%.3f %.0f evals/s%n",
+                sample.run, sample.generation, sample.best, sample.mean, sample.worst, sample.diversity,
+                sample.evaluationsPerSecond());
+    }
+
+    final class Csv implements TelemetryExporter {
+        private final BufferedWriter out;
+
+        Csv(Path path) {
+            try {
+                out = Files.newBufferedWriter(path);
+                out.write("run,generation,best,mean,worst,diversity,evaluations,evaluations_per_second,"
+                        + "allocated_bytes,wall_nanos,select_nanos,vary_nanos,evaluate_nanos,update_nanos");
+                out.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void accept(Sample sample) {
+            try {
+                out.write(sample.run);
+                out.write(',');
+                out.write(Long.toString(sample.generation));
+                out.write(',');
+                out.write(Double.toString(sample.best));
+                out.write(',');
+                out.write(Double.toString(sample.mean));
+                out.write(',');
+                out.write(Double.toString(sample.worst));
+                out.write(',');
+                out.write(Double.toString(sample.diversity));
+                out.write(',');
+                out.write(Long.toString(sample.evaluations));
+                out.write(',');
+                out.write(Double.toString(sample.evaluationsPerSecond()));
+                out.write(',');
+                out.write(Long.toString(sample.allocatedBytes));
+                out.write(',');
+                out.write(Long.toString(sample.wallNanos));
+                for (long nanos : sample.phaseNanos) {
+                    out.write(',');
+                    out.write(Long.toString(nanos));
+                }
+                out.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Name("bis.Generation")
+    @Label("Generation")
+    @Category("BIS")
+    @Description("Metrics of one solver generation")
+    class GenerationEvent extends Event {
+        @Label("Run")
+        String run;
+        @Label("Generation")
+        long generation;
+        @Label("Best")
+        double best;
+        @Label("Mean")
+        double mean;
+        @Label("Worst")
+        double worst;
+        @Label("Diversity")
+        double diversity;
+        @Label("Evaluations")
+        long evaluations;
+        @Label("Evaluations per Second")
+        double evaluationsPerSecond;
+        @Label("Allocated Bytes")
+        long allocatedBytes;
+        @Label("Wall Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long wallNanos;
+        @Label("Select Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long selectNanos;
+        @Label("Vary Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long varyNanos;
+        @Label("Evaluate Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long evaluateNanos;
+        @Label("Update Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long updateNanos;
+    }
+}
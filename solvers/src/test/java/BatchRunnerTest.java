@@ -0,0 +1,93 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+// The runner must hand back one solution per solver, failed ones included, never run more than
+// parallelism solvers at once, and still end the stream when it is closed mid-batch
+class BatchRunnerTest {
+
+    private static Solver<String> solver(String name, Supplier<Solution<String>> solve) {
+        return new Solver<>() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Solution<String> solve() {
+                return solve.get();
+            }
+        };
+    }
+
+    @Test
+    void everySolverIsReportedOnceWithinParallelism() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Solver<String>> solvers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String name = "s" + i;
+            boolean fails = i % 5 == 0;
+            solvers.add(solver(name, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                if (fails) throw new IllegalStateException(name);
+                return Solution.of(name, name, 0, 1, 0);
+            }));
+        }
+        List<Solution<?>> solutions;
+        try (BatchRunner runner = new BatchRunner(3)) {
+            solutions = runner.stream(solvers).collect(Collectors.toList());
+        }
+        assertEquals(20, solutions.size());
+        assertEquals(20, solutions.stream().map(Solution::name).distinct().count());
+        assertEquals(4, solutions.stream().filter(Solution::failed).count());
+        assertTrue(peak.get() <= 3, "peak " + peak.get());
+    }
+
+    @Test
+    void closingEndsTheStream() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<Solver<String>> solvers = new ArrayList<>();
+            solvers.add(solver("running", () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    // Interrupted by close(); finish the run anyway
+                }
+                return Solution.of("running", "done", 0, 1, 0);
+            }));
+            for (int i = 0; i < 3; i++) {
+                String name = "queued" + i;
+                solvers.add(solver(name, () -> Solution.of(name, name, 0, 1, 0)));
+            }
+            BatchRunner runner = new BatchRunner(1);
+            Stream<Solution<?>> solutions = runner.stream(solvers);
+            started.await();
+            runner.close();
+            release.countDown();
+            List<Solution<?>> all = solutions.collect(Collectors.toList());
+            assertEquals(4, all.size());
+            assertEquals(3, all.stream().filter(Solution::failed).count());
+        });
+    }
+}
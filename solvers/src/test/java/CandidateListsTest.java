@@ -0,0 +1,67 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+// The k-d tree must find the same neighbours as a brute-force scan, for any k
+class CandidateListsTest {
+
+    private static double[][] cities(int n) {
+        SplittableRandom rng = new SplittableRandom(17);
+        double[][] cities = new double[n][2];
+        for (double[] city : cities) {
+            city[0] = rng.nextInt(1000); // Integer grid, so some cities share a coordinate
+            city[1] = rng.nextInt(1000);
+        }
+        return cities;
+    }
+
+    private static double[] distances(double[][] cities, int city) {
+        double[] d = new double[cities.length];
+        for (int i = 0; i < cities.length; i++) {
+            double dx = cities[i][0] - cities[city][0];
+            double dy = cities[i][1] - cities[city][1];
+            d[i] = dx * dx + dy * dy;
+        }
+        return d;
+    }
+
+    // Ties may come back in either order, so compare the sorted neighbour distances
+    @Test
+    void candidatesMatchBruteForce() {
+        double[][] cities = cities(500);
+        for (int k : new int[] {1, 5, 16}) {
+            CandidateLists candidates = CandidateLists.build(cities, k);
+            for (int city = 0; city < cities.length; city++) {
+                double[] d = distances(cities, city);
+                int c = city;
+                double[] expected = IntStream.range(0, cities.length).filter(i -> i != c)
+                        .boxed().sorted(Comparator.comparingDouble(i -> d[i])).limit(k)
+                        .mapToDouble(i -> d[i]).toArray();
+                double[] actual = new double[k];
+                for (int i = 0; i < k; i++) actual[i] = d[candidates.neighbor(city, i)];
+                assertArrayEquals(expected, actual, "city " + city + ", k " + k);
+            }
+        }
+    }
+
+    @Test
+    void kIsClampedAndValidated() {
+        double[][] cities = cities(10);
+        assertEquals(9, CandidateLists.build(cities, 50).k());
+        assertEquals(0, CandidateLists.build(cities, 0).k());
+        assertEquals(0, CandidateLists.build(new double[0][], 5).k());
+        assertThrows(IllegalArgumentException.class, () -> CandidateLists.build(cities, -1));
+        int[] out = new int[1];
+        Arrays.fill(out, -1);
+        assertEquals(0, new KdTree(cities).nearest(0, 0, out, 0));
+        assertEquals(0, new KdTree(cities).nearest(0, -3, out, 0));
+        assertEquals(-1, out[0]);
+    }
+}
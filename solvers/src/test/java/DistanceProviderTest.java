@@ -0,0 +1,102 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Every backend must return the distances and tour lengths of the metric it wraps, and the edge
+// cache must evict exactly like an access-ordered LinkedHashMap
+class DistanceProviderTest {
+
+    private static double[][] cities(int n, SplittableRandom rng) {
+        double[][] cities = new double[n][2];
+        for (double[] city : cities) {
+            city[0] = rng.nextDouble() * 1000;
+            city[1] = rng.nextDouble() * 1000;
+        }
+        return cities;
+    }
+
+    private static int[] tour(int n, SplittableRandom rng) {
+        int[] tour = new int[n];
+        for (int i = 0; i < n; i++) tour[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int t = tour[i]; tour[i] = tour[j]; tour[j] = t;
+        }
+        return tour;
+    }
+
+    @Test
+    void backendsAgreeWithTheirSource() {
+        SplittableRandom rng = new SplittableRandom(9);
+        double[][] cities = cities(200, rng);
+        DistanceProvider euclidean = DistanceProvider.euclidean(cities);
+        DistanceProvider tsplib = DistanceProvider.tsplib(cities);
+        DistanceProvider[] copies = {
+                DistanceProvider.matrix(euclidean),
+                DistanceProvider.cached(euclidean, 100), // Far fewer slots than edges
+                DistanceProvider.cached(euclidean, 1 << 16).forThread(),
+                DistanceProvider.forCities(cities)
+        };
+        for (int a = 0; a < cities.length; a++) {
+            for (int b = 0; b < cities.length; b++) {
+                double d = Math.hypot(cities[a][0] - cities[b][0], cities[a][1] - cities[b][1]);
+                assertEquals(d, euclidean.distance(a, b), 1e-9);
+                assertEquals(Math.round(d), tsplib.distance(a, b));
+                for (DistanceProvider copy : copies) {
+                    assertEquals(euclidean.distance(a, b), copy.distance(a, b), copy.getClass().getSimpleName());
+                }
+            }
+        }
+
+        int[] tour = tour(cities.length, rng);
+        List<Integer> list = new ArrayList<>();
+        for (int city : tour) list.add(city);
+        double length = 0;
+        for (int i = 0; i < tour.length; i++) length += euclidean.distance(tour[i], tour[(i + 1) % tour.length]);
+        for (DistanceProvider copy : copies) {
+            assertEquals(length, copy.tourLength(tour), 1e-6, copy.getClass().getSimpleName());
+            assertEquals(length, copy.tourLength(list), 1e-6, copy.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void lruCacheEvictsLikeAccessOrderedMap() {
+        int capacity = 50;
+        LongDoubleLruCache cache = new LongDoubleLruCache(capacity);
+        Map<Long, Double> model = new LinkedHashMap<>(16, 0.75f, true);
+        SplittableRandom rng = new SplittableRandom(13);
+        for (int op = 0; op < 100_000; op++) {
+            long key = rng.nextInt(120);
+            switch (rng.nextInt(4)) {
+                case 0:
+                case 1:
+                    double value = rng.nextDouble();
+                    cache.put(key, value);
+                    model.put(key, value);
+                    if (model.size() > capacity) {
+                        Iterator<Long> eldest = model.keySet().iterator();
+                        eldest.next();
+                        eldest.remove();
+                    }
+                    break;
+                case 2:
+                    Double expected = model.get(key);
+                    assertEquals(expected == null ? Double.NaN : expected, cache.get(key));
+                    break;
+                default:
+                    assertEquals(model.remove(key) != null, cache.remove(key));
+            }
+            assertEquals(model.size(), cache.size());
+            if (!model.isEmpty()) {
+                assertEquals(model.keySet().iterator().next(), cache.eldestKey());
+            }
+        }
+    }
+}
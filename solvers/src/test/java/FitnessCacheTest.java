@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Keys updated from changed edges must equal a full rehash, whichever operator bred the tour,
+// and W-TinyLFU must keep a hot set that a scan of one-off keys flushes out of a plain LRU
+class FitnessCacheTest {
+
+    private static final int[] SIZES = {3, 4, 5, 8, 30, 200};
+
+    @Test
+    void rekeyMatchesTourKeyUnderCrossover() {
+        SplittableRandom rng = new SplittableRandom(31);
+        for (int n : SIZES) {
+            PermutationCrossover crossover = new PermutationCrossover(n);
+            int[] child = new int[n];
+            for (int trial = 0; trial < 500; trial++) {
+                int[] parent1 = PermutationCrossoverTest.shuffled(n, rng);
+                int[] parent2 = PermutationCrossoverTest.shuffled(n, rng);
+                for (PermutationCrossover.Type type : PermutationCrossover.Type.values()) {
+                    crossover.crossover(type, parent1, parent2, child, rng);
+                    assertEquals(FitnessCache.tourKey(child),
+                            FitnessCache.rekey(FitnessCache.tourKey(parent1), parent1, child), type + ", n " + n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void tourKeyIgnoresRotationAndDirection() {
+        int[] tour = PermutationCrossoverTest.shuffled(50, new SplittableRandom(37));
+        int[] turned = new int[tour.length];
+        for (int i = 0; i < tour.length; i++) turned[i] = tour[Math.floorMod(7 - i, tour.length)];
+        assertEquals(FitnessCache.tourKey(tour), FitnessCache.tourKey(turned));
+    }
+
+    // The engine carries keys through elitism, crossover and every mutation; each must still be
+    // the key of its route after every generation
+    @Test
+    void engineKeysMatchTourKeyUnderEveryOperator() {
+        for (int n : SIZES) {
+            double[][] cities = new double[n][2];
+            SplittableRandom rng = new SplittableRandom(n);
+            for (double[] city : cities) {
+                city[0] = rng.nextDouble();
+                city[1] = rng.nextDouble();
+            }
+            DistanceProvider distances = DistanceProvider.euclidean(cities);
+            OperatorScheduler[] schedulers = new OperatorScheduler[OperatorScheduler.Operator.values().length + 1];
+            for (OperatorScheduler.Operator op : OperatorScheduler.Operator.values()) {
+                schedulers[op.ordinal()] = OperatorScheduler.of(op);
+            }
+            for (OperatorScheduler scheduler : schedulers) { // Last one null: OX plus swap mutation
+                GeneExpressionEngine engine = new GeneExpressionEngine(distances, 41)
+                        .cache(FitnessCache.lru(1 << 10))
+                        .operators(scheduler);
+                engine.initialize(40, 8, 0.5);
+                for (int gen = 0; gen < 30; gen++) {
+                    engine.step();
+                    for (int i = 0; i < 40; i++) {
+                        assertEquals(FitnessCache.tourKey(engine.route(i)), engine.key(i), scheduler + ", n " + n);
+                        assertEquals(1 / distances.tourLength(engine.route(i)), engine.fitness()[i], 1e-12);
+                    }
+                }
+            }
+        }
+    }
+
+    // A hot set used over and over, then a long scan of keys used once each
+    private static boolean keepsHotSet(FitnessCache cache, int capacity) {
+        int hot = capacity / 2;
+        for (int round = 0; round < 20; round++) {
+            for (long key = 0; key < hot; key++) {
+                if (Double.isNaN(cache.get(key))) cache.put(key, key);
+            }
+        }
+        for (long key = hot; key < hot + 10L * capacity; key++) {
+            if (Double.isNaN(cache.get(key))) cache.put(key, key);
+        }
+        int kept = 0;
+        for (long key = 0; key < hot; key++) {
+            if (!Double.isNaN(cache.get(key))) kept++;
+        }
+        return kept > 0.9 * hot;
+    }
+
+    @Test
+    void tinyLfuResistsScans() {
+        int capacity = 1000;
+        assertTrue(keepsHotSet(FitnessCache.tinyLfu(capacity), capacity));
+        assertFalse(keepsHotSet(FitnessCache.lru(capacity), capacity));
+    }
+}
@@ -0,0 +1,39 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// topK must pick the k largest keys, largest first, whatever the ties and whatever k
+class GeneExpressionEngineTest {
+
+    @Test
+    void topKMatchesFullSort() {
+        SplittableRandom rng = new SplittableRandom(29);
+        for (int n : new int[] {1, 2, 7, 100, 1000}) {
+            for (int trial = 0; trial < 50; trial++) {
+                double[] keys = new double[n];
+                int distinct = 1 + rng.nextInt(n + 1); // Few distinct values means many ties
+                for (int i = 0; i < n; i++) keys[i] = rng.nextInt(distinct);
+                double[] sorted = keys.clone();
+                Arrays.sort(sorted);
+                int[] order = new int[n];
+                for (int k = 0; k <= n; k += Math.max(1, n / 10)) {
+                    GeneExpressionEngine.topK(keys, order, n, k);
+                    double[] expected = new double[k];
+                    double[] actual = new double[k];
+                    for (int i = 0; i < k; i++) {
+                        expected[i] = sorted[n - 1 - i];
+                        actual[i] = keys[order[i]];
+                    }
+                    assertArrayEquals(expected, actual, "n " + n + ", k " + k);
+                    int[] indices = order.clone();
+                    Arrays.sort(indices);
+                    for (int i = 0; i < n; i++) assertEquals(i, indices[i], "order is not a permutation");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+// A deadline must stop a run before its budget rather than a generation after it, and an
+// incumbent must always hand its final best to subscribers, however far behind they are
+class IncumbentTest {
+
+    @Test
+    void deadlineStopsBeforeTheBudget() throws InterruptedException {
+        assertTrue(Deadline.afterMillis(0).expired());
+        assertFalse(Deadline.afterMillis(60_000).expired());
+
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.afterMillis(100);
+        int generations = 0;
+        while (!deadline.expired()) {
+            Thread.sleep(10); // One "generation"
+            generations++;
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(generations > 0);
+        // Without the look-ahead the last generation would start at about 90 ms and end past 100
+        assertTrue(elapsedMillis <= 100, "ran " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void laggingSubscriberStillGetsFinalBest() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Incumbent<Integer> incumbent = new Incumbent<>("test", executor, 1);
+            assertNull(incumbent.get());
+            List<Integer> received = new CopyOnWriteArrayList<>();
+            CompletableFuture<Void> done = incumbent.consume(best -> {
+                received.add(best.best());
+                try {
+                    Thread.sleep(2); // Slower than the solver
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            for (int i = 1; i <= 200; i++) {
+                incumbent.offer(i, i, i);
+            }
+            assertEquals(200, incumbent.get().best());
+            incumbent.close();
+            done.join();
+            assertTrue(received.size() < 200, "no improvement was dropped, the test did not lag");
+            assertEquals(200, received.get(received.size() - 1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void printingReturnsTheSolverResult() {
+        Solution<String> result = Incumbent.printing("test", incumbent -> {
+            incumbent.offer("first", 1, 1);
+            incumbent.offer("second", 2, 2);
+            return Solution.of("test", "second", 2, 2, 0);
+        });
+        assertEquals("second", result.best());
+    }
+}
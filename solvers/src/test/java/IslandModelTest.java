@@ -0,0 +1,56 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// A lone island must evolve exactly like a plain engine with the same seed; with migration,
+// every topology must return a valid tour and run every island to completion
+class IslandModelTest {
+
+    private static final int GENERATIONS = 60;
+
+    private static DistanceProvider distances(int n) {
+        SplittableRandom rng = new SplittableRandom(23);
+        double[][] cities = new double[n][2];
+        for (double[] city : cities) {
+            city[0] = rng.nextDouble() * 1000;
+            city[1] = rng.nextDouble() * 1000;
+        }
+        return DistanceProvider.forCities(cities);
+    }
+
+    @Test
+    void singleIslandMatchesPlainEngine() throws InterruptedException {
+        DistanceProvider distances = distances(60);
+        int[] island = new IslandModel(distances, 1, 5).run(100, GENERATIONS, 20, 0.05);
+
+        TSPEngine engine = new TSPEngine(distances, new SplitMix64Random(5).split());
+        engine.initialize(100, 20, 0.05);
+        for (int gen = 0; gen < GENERATIONS; gen++) engine.step();
+        assertArrayEquals(engine.bestTour(), island);
+    }
+
+    @Test
+    void everyTopologyReturnsValidTour() throws InterruptedException {
+        DistanceProvider distances = distances(60);
+        for (IslandModel.Topology topology : IslandModel.Topology.values()) {
+            IslandModel model = new IslandModel(distances, 4, 5).topology(topology).migration(5, 2);
+            int[] tour = model.run(100, GENERATIONS, 20, 0.05);
+            assertTrue(PermutationCrossoverTest.isPermutation(tour), topology.toString());
+            assertEquals(distances.tourLength(tour), model.bestLength(), 1e-9, topology.toString());
+            assertEquals(4L * GENERATIONS, model.totalGenerations(), topology.toString());
+        }
+    }
+
+    @Test
+    void migrationSettingsAreValidated() {
+        IslandModel model = new IslandModel(distances(10), 2, 5);
+        assertThrows(IllegalArgumentException.class, () -> model.migration(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> model.migration(5, -1));
+        model.migration(5, 0);
+    }
+}
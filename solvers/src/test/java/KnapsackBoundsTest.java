@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// On instances small enough to solve exactly, the greedy fill must be feasible and no better
+// than the optimum, and the Dantzig bound no worse than it
+class KnapsackBoundsTest {
+
+    // Exact optimum by dynamic programming over capacities
+    private static long optimum(int[] weights, int[] values, int capacity) {
+        long[] best = new long[capacity + 1];
+        for (int i = 0; i < weights.length; i++) {
+            for (int c = capacity; c >= weights[i]; c--) {
+                best[c] = Math.max(best[c], best[c - weights[i]] + values[i]);
+            }
+        }
+        return best[capacity];
+    }
+
+    @Test
+    void greedyAndDantzigBracketTheOptimum() {
+        SplittableRandom rng = new SplittableRandom(53);
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 1 + rng.nextInt(40);
+            int[] weights = new int[n];
+            int[] values = new int[n];
+            long total = 0;
+            for (int i = 0; i < n; i++) {
+                weights[i] = 1 + rng.nextInt(100);
+                values[i] = 1 + rng.nextInt(100);
+                total += weights[i];
+            }
+            int capacity = rng.nextInt((int) total + 10); // Sometimes everything fits
+
+            boolean[] greedy = KnapsackBounds.greedy(weights, values, capacity);
+            long weight = 0, value = 0;
+            for (int i = 0; i < n; i++) {
+                if (greedy[i]) {
+                    weight += weights[i];
+                    value += values[i];
+                }
+            }
+            long optimum = optimum(weights, values, capacity);
+            long bound = KnapsackBounds.dantzig(weights, values, capacity);
+            assertTrue(weight <= capacity, "greedy overfills");
+            assertTrue(value <= optimum, "greedy beats the optimum");
+            assertTrue(bound >= optimum, "bound " + bound + " below optimum " + optimum);
+            if (total <= capacity) {
+                assertEquals(optimum, value);
+                assertEquals(optimum, bound);
+            }
+        }
+    }
+
+    @Test
+    void gapIsRelativeToTheBound() {
+        assertEquals(0, KnapsackBounds.gap(100, 100));
+        assertEquals(0.25, KnapsackBounds.gap(75, 100), 1e-12);
+    }
+}
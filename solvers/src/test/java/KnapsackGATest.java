@@ -0,0 +1,32 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+// Scoring the list GA's population on a pool must give the sequential scores, in population order
+class KnapsackGATest {
+
+    @Test
+    void poolScoresMatchSequentialScores() {
+        SplittableRandom rng = new SplittableRandom(5);
+        int items = 200;
+        KnapsackGA.weights = new int[items];
+        KnapsackGA.values = new int[items];
+        for (int i = 0; i < items; i++) {
+            KnapsackGA.weights[i] = 1 + rng.nextInt(50);
+            KnapsackGA.values[i] = 1 + rng.nextInt(50);
+        }
+        KnapsackGA.maxWeight = 2000;
+        List<List<Integer>> population = KnapsackGA.initializePopulation(500, items);
+        List<Integer> expected = KnapsackGA.calculateFitness(population);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertEquals(expected, KnapsackGA.calculateFitness(population, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
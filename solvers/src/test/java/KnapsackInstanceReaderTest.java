@@ -0,0 +1,103 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Every format must read back the instance that was written, and malformed item counts or row
+// indexes must fail with an IOException that names the file
+class KnapsackInstanceReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private static KnapsackInstance instance(int n) {
+        SplittableRandom rng = new SplittableRandom(7);
+        int[] weights = new int[n];
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1 + rng.nextInt(1_000_000);
+            values[i] = 1 + rng.nextInt(1_000_000);
+        }
+        return new KnapsackInstance("test", weights, values, 123_456_789_012L);
+    }
+
+    private static void assertSameItems(KnapsackInstance expected, KnapsackInstance actual) {
+        assertArrayEquals(expected.weights(), actual.weights());
+        assertArrayEquals(expected.values(), actual.values());
+        assertEquals(expected.capacity(), actual.capacity());
+    }
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        KnapsackInstance instance = instance(1000);
+        Path file = dir.resolve("test.knp");
+        KnapsackInstanceReader.writeBinary(instance, file);
+        assertEquals(KnapsackInstanceReader.Format.BINARY, KnapsackInstanceReader.detect(file));
+        assertSameItems(instance, KnapsackInstanceReader.read(file));
+    }
+
+    @Test
+    void plainRoundTrip() throws IOException {
+        KnapsackInstance instance = instance(1000);
+        StringBuilder text = new StringBuilder(instance.numItems() + " " + instance.capacity() + "\n");
+        for (int i = 0; i < instance.numItems(); i++) {
+            text.append(instance.values()[i]).append(' ').append(instance.weights()[i]).append('\n');
+        }
+        Path file = Files.writeString(dir.resolve("test.txt"), text);
+        assertEquals(KnapsackInstanceReader.Format.PLAIN, KnapsackInstanceReader.detect(file));
+        assertSameItems(instance, KnapsackInstanceReader.read(file));
+    }
+
+    // Rows are written in reverse to check they are placed by their index
+    @Test
+    void pisingerRoundTrip() throws IOException {
+        KnapsackInstance instance = instance(1000);
+        Path file = Files.writeString(dir.resolve("test.csv"), pisinger(instance.numItems(), instance));
+        assertEquals(KnapsackInstanceReader.Format.PISINGER, KnapsackInstanceReader.detect(file));
+        assertSameItems(instance, KnapsackInstanceReader.read(file));
+    }
+
+    private static String pisinger(int declared, KnapsackInstance instance) {
+        StringBuilder text = new StringBuilder("knapPI_test\nn " + declared + "\nc " + instance.capacity()
+                + "\nz 0\ntime 0.00\n");
+        for (int i = instance.numItems() - 1; i >= 0; i--) {
+            text.append(i + 1).append(',').append(instance.values()[i]).append(',')
+                    .append(instance.weights()[i]).append(",0\n");
+        }
+        return text.append("-----\n").toString();
+    }
+
+    @Test
+    void negativeBinaryCountIsRejected() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(KnapsackInstanceReader.BINARY_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(KnapsackInstanceReader.BINARY_MAGIC).putInt(-1).putLong(10);
+        Path file = Files.write(dir.resolve("negative.knp"), header.array());
+        IOException e = assertThrows(IOException.class, () -> KnapsackInstanceReader.read(file));
+        assertTrue(e.getMessage().contains("negative.knp"), e.getMessage());
+    }
+
+    @Test
+    void negativePisingerCountIsRejected() throws IOException {
+        Path file = Files.writeString(dir.resolve("negative.csv"), "knapPI_test\nn -3\nc 10\nz 0\ntime 0.00\n1,1,1,0\n");
+        IOException e = assertThrows(IOException.class, () -> KnapsackInstanceReader.read(file));
+        assertTrue(e.getMessage().contains("negative.csv"), e.getMessage());
+    }
+
+    @Test
+    void pisingerRowOutsideRangeIsRejected() throws IOException {
+        KnapsackInstance instance = instance(10);
+        Path file = Files.writeString(dir.resolve("rows.csv"), pisinger(5, instance));
+        IOException e = assertThrows(IOException.class, () -> KnapsackInstanceReader.read(file));
+        assertTrue(e.getMessage().contains("rows.csv"), e.getMessage());
+    }
+}
@@ -0,0 +1,45 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// 2-opt / Or-opt must leave a valid permutation that is no longer than the input, and report
+// the change in length it made
+class LocalSearchTest {
+
+    @Test
+    void optimizedTourIsShorterPermutation() {
+        SplittableRandom rng = new SplittableRandom(5);
+        for (int n : new int[] {5, 6, 12, 100, 400}) {
+            double[][] cities = new double[n][2];
+            for (double[] city : cities) {
+                city[0] = rng.nextDouble(1000);
+                city[1] = rng.nextDouble(1000);
+            }
+            DistanceProvider distances = DistanceProvider.forCities(cities);
+            LocalSearch search = new LocalSearch(distances, CandidateLists.build(cities, Math.min(8, n - 1)));
+            for (int trial = 0; trial < 10; trial++) {
+                int[] tour = new int[n];
+                for (int c = 0; c < n; c++) tour[c] = c;
+                for (int c = n - 1; c > 0; c--) {
+                    int j = rng.nextInt(c + 1);
+                    int t = tour[c]; tour[c] = tour[j]; tour[j] = t;
+                }
+                double before = distances.tourLength(tour);
+                double delta = search.optimize(tour, trial % 2 == 0 ? 0 : 5);
+
+                boolean[] seen = new boolean[n];
+                for (int city : tour) {
+                    assertFalse(seen[city], "city " + city + " repeated, n=" + n);
+                    seen[city] = true;
+                }
+                double after = distances.tourLength(tour);
+                assertTrue(after <= before + 1e-9, "tour got longer, n=" + n);
+                assertEquals(before + delta, after, 1e-6 * before, "reported change, n=" + n);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Every objective must reach 0 at its documented minimum, stay above it elsewhere in its domain,
+// and score a batch exactly like one particle at a time
+class ObjectiveTest {
+
+    private static final String[] NAMES = {"sphere", "rastrigin", "rosenbrock", "ackley", "griewank"};
+
+    @Test
+    void minimaAreZero() {
+        for (String name : NAMES) {
+            Objective objective = Objective.byName(name);
+            assertEquals(name, objective.toString());
+            for (int dims = 1; dims <= 10; dims++) {
+                double[] minimum = new double[dims];
+                Arrays.fill(minimum, name.equals("rosenbrock") ? 1 : 0);
+                assertEquals(0, objective.evaluate(minimum), 1e-12, name + ", " + dims + " dimensions");
+            }
+        }
+    }
+
+    @Test
+    void batchMatchesSingleAndStaysAboveMinimum() {
+        SplittableRandom rng = new SplittableRandom(47);
+        int dims = 6;
+        int particles = 200;
+        for (String name : NAMES) {
+            Objective objective = Objective.byName(name);
+            double[] positions = new double[particles * dims];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = rng.nextDouble(objective.lowerBound(), objective.upperBound());
+            }
+            double[] out = new double[particles];
+            objective.evaluate(positions, 10, particles - 10, dims, out);
+            for (int p = 10; p < particles; p++) {
+                double single = objective.evaluate(Arrays.copyOfRange(positions, p * dims, (p + 1) * dims));
+                assertEquals(single, out[p], name);
+                assertTrue(out[p] > 0, name);
+            }
+            assertEquals(0, out[0], name + " wrote outside its range");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Probabilities must start uniform, follow gain per nanosecond without dropping below
+// minProbability, and select() must draw operators with those probabilities
+class OperatorSchedulerTest {
+
+    private static final OperatorScheduler.Operator[] OPERATORS = OperatorScheduler.Operator.values();
+
+    private static double total(OperatorScheduler scheduler) {
+        double sum = 0;
+        for (OperatorScheduler.Operator op : OPERATORS) sum += scheduler.probability(op);
+        return sum;
+    }
+
+    @Test
+    void probabilitiesFollowGainPerNanosecond() {
+        OperatorScheduler scheduler = OperatorScheduler.all();
+        int n = OPERATORS.length;
+        for (OperatorScheduler.Operator op : OPERATORS) {
+            assertEquals(1.0 / n, scheduler.probability(op), 1e-12);
+        }
+
+        // Same gain for OX and PMX, but PMX takes twice as long; nothing else improves
+        for (int gen = 0; gen < 50; gen++) {
+            for (int arm = 0; arm < n; arm++) {
+                OperatorScheduler.Operator op = scheduler.operator(arm);
+                double gain = op == OperatorScheduler.Operator.OX || op == OperatorScheduler.Operator.PMX ? 0.01 : 0;
+                long nanos = op == OperatorScheduler.Operator.PMX ? 2000 : 1000;
+                scheduler.record(arm, gain, nanos, 0);
+            }
+            scheduler.endGeneration();
+        }
+        double min = 0.2 / n;
+        double ox = scheduler.probability(OperatorScheduler.Operator.OX);
+        double pmx = scheduler.probability(OperatorScheduler.Operator.PMX);
+        assertEquals(1, total(scheduler), 1e-12);
+        assertEquals(min + (1 - n * min) * 2 / 3, ox, 1e-9);
+        assertEquals(min + (1 - n * min) / 3, pmx, 1e-9);
+        assertEquals(min, scheduler.probability(OperatorScheduler.Operator.SWAP), 1e-12);
+        assertEquals(50, scheduler.uses(OperatorScheduler.Operator.OX));
+        assertEquals(50, scheduler.improvements(OperatorScheduler.Operator.PMX));
+        assertEquals(0, scheduler.improvements(OperatorScheduler.Operator.CX));
+    }
+
+    @Test
+    void selectFollowsProbabilities() {
+        OperatorScheduler scheduler = OperatorScheduler.of(OperatorScheduler.Operator.SWAP, OperatorScheduler.Operator.OX)
+                .minProbability(0.1);
+        scheduler.record(1, 0.5, 1000, 0);
+        scheduler.endGeneration();
+        assertEquals(0.9, scheduler.probability(OperatorScheduler.Operator.OX), 1e-12);
+        SplittableRandom rng = new SplittableRandom(59);
+        int draws = 100_000;
+        int ox = 0;
+        for (int i = 0; i < draws; i++) {
+            if (scheduler.select(rng) == 1) ox++;
+        }
+        assertEquals(0.9, (double) ox / draws, 0.01);
+    }
+
+    @Test
+    void settingsAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> OperatorScheduler.all().minProbability(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> OperatorScheduler.all().minProbability(0.5));
+        assertThrows(IllegalArgumentException.class, () -> OperatorScheduler.all().adaptation(0));
+        assertThrows(IllegalArgumentException.class, () -> OperatorScheduler.of());
+        assertTrue(OperatorScheduler.all().minProbability(0).probability(OperatorScheduler.Operator.CX) > 0);
+    }
+}
@@ -0,0 +1,72 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A seeded packed GA must not depend on how many workers breed it, and a run resumed from a
+// checkpoint must finish exactly like the uninterrupted run
+class PackedKnapsackGATest {
+
+    private static final int ITEMS = 500;
+    private static final int POP_SIZE = 300; // Several breeding blocks
+    private static final int PARENTS = 60;
+
+    @TempDir
+    Path dir;
+
+    private static PackedKnapsackGA engine(long seed) {
+        SplittableRandom rng = new SplittableRandom(11);
+        int[] weights = new int[ITEMS];
+        int[] values = new int[ITEMS];
+        long total = 0;
+        for (int i = 0; i < ITEMS; i++) {
+            weights[i] = 1 + rng.nextInt(100);
+            values[i] = 1 + rng.nextInt(100);
+            total += weights[i];
+        }
+        return new PackedKnapsackGA(weights, values, total / 2)
+                .seed(seed)
+                .repair(true)
+                .seeding(0.1)
+                .verbose(false)
+                .telemetry(Telemetry.off());
+    }
+
+    private static long[] run(PackedKnapsackGA ga, int generations) {
+        return ga.geneticAlgorithm(POP_SIZE, generations, PARENTS, 2.0 / ITEMS, StoppingCriterion.maxGenerations(generations));
+    }
+
+    @Test
+    void resultDoesNotDependOnWorkerCount() {
+        PackedKnapsackGA sequential = engine(42).parallel(null);
+        long[] expected = run(sequential, 40);
+        for (int workers : new int[] {1, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            try {
+                PackedKnapsackGA ga = engine(42).parallel(pool);
+                assertArrayEquals(expected, run(ga, 40), workers + " workers");
+                assertEquals(sequential.bestFitness(), ga.bestFitness());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void resumedRunMatchesUninterruptedRun() {
+        PackedKnapsackGA uninterrupted = engine(7);
+        long[] expected = run(uninterrupted, 60);
+
+        Path file = dir.resolve("ga.ckpt");
+        run(engine(7).checkpoint(file, 30), 30);
+        PackedKnapsackGA resumed = engine(7).resume(file);
+        assertArrayEquals(expected, run(resumed, 60));
+        assertEquals(uninterrupted.bestFitness(), resumed.bestFitness());
+        assertEquals(uninterrupted.generations(), resumed.generations());
+    }
+}
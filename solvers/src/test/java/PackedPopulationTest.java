@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Crossover and mutation update the cached totals by delta; they must match a full rescan
+class PackedPopulationTest {
+
+    private static final int ITEMS = 150; // Not a multiple of 64
+
+    private static int[] items(SplittableRandom rng) {
+        int[] items = new int[ITEMS];
+        for (int i = 0; i < ITEMS; i++) items[i] = 1 + rng.nextInt(1000);
+        return items;
+    }
+
+    private static PackedPopulation population(int size, int[] weights, int[] values, SplittableRandom rng) {
+        PackedPopulation population = new PackedPopulation(size, weights, values);
+        for (int i = 0; i < size; i++) population.randomize(i, rng);
+        return population;
+    }
+
+    private static void assertTotalsMatchRescan(PackedPopulation population, int individual, String label) {
+        long weight = population.totalWeight(individual);
+        long value = population.totalValue(individual);
+        population.recompute(individual);
+        assertEquals(population.totalWeight(individual), weight, label);
+        assertEquals(population.totalValue(individual), value, label);
+    }
+
+    @Test
+    void crossoverTotalsMatchRescan() {
+        SplittableRandom rng = new SplittableRandom(1);
+        int[] weights = items(rng);
+        int[] values = items(rng);
+        PackedPopulation parents = population(2, weights, values, rng);
+        PackedPopulation children = population(1, weights, values, rng);
+        for (int point = 0; point <= ITEMS; point++) {
+            children.crossover(0, parents, 0, 1, point);
+            for (int item = 0; item < ITEMS; item++) {
+                boolean expected = parents.get(item < point ? 0 : 1, item);
+                assertEquals(expected, children.get(0, item), "point " + point + ", item " + item);
+            }
+            assertTotalsMatchRescan(children, 0, "point " + point);
+        }
+    }
+
+    @Test
+    void mutationTotalsMatchRescan() {
+        SplittableRandom rng = new SplittableRandom(2);
+        PackedPopulation population = population(1, items(rng), items(rng), rng);
+        for (double rate : new double[] {1e-300, 1e-3, 0.05, 0.5, 0.999, 1.0}) {
+            for (int i = 0; i < 200; i++) {
+                population.mutate(0, rate, rng);
+                assertTotalsMatchRescan(population, 0, "rate " + rate);
+            }
+        }
+    }
+}
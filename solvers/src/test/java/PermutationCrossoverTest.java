@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Every operator must turn two permutations into a permutation; CX must also keep each city at
+// one of its parents' positions
+class PermutationCrossoverTest {
+
+    static int[] shuffled(int n, SplittableRandom rng) {
+        int[] tour = new int[n];
+        for (int i = 0; i < n; i++) tour[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int t = tour[i]; tour[i] = tour[j]; tour[j] = t;
+        }
+        return tour;
+    }
+
+    static boolean isPermutation(int[] tour) {
+        boolean[] seen = new boolean[tour.length];
+        for (int city : tour) {
+            if (city < 0 || city >= tour.length || seen[city]) return false;
+            seen[city] = true;
+        }
+        return true;
+    }
+
+    @Test
+    void childrenArePermutations() {
+        SplittableRandom rng = new SplittableRandom(21);
+        for (int n : new int[] {2, 3, 10, 97, 256}) {
+            PermutationCrossover crossover = new PermutationCrossover(n);
+            int[] child = new int[n];
+            for (int trial = 0; trial < 2000; trial++) {
+                int[] parent1 = shuffled(n, rng);
+                int[] parent2 = shuffled(n, rng);
+                for (PermutationCrossover.Type type : PermutationCrossover.Type.values()) {
+                    crossover.crossover(type, parent1, parent2, child, rng);
+                    assertTrue(isPermutation(child), type + ", n " + n);
+                    if (type == PermutationCrossover.Type.CX) {
+                        for (int i = 0; i < n; i++) {
+                            assertTrue(child[i] == parent1[i] || child[i] == parent2[i], "CX position " + i);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
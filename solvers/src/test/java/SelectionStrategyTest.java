@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Each strategy must draw parents with its intended distribution: proportional to fitness for
+// roulette, alias and SUS, by rank for tournaments, and uniform when every fitness is 0
+class SelectionStrategyTest {
+
+    private static final double[] FITNESS = {1, 2, 3, 4, 0, 10};
+    private static final int DRAWS = 200_000;
+    private static final int BATCH = 100;
+    private static final double TOLERANCE = 0.01;
+
+    private static double[] frequencies(SelectionStrategy strategy, double[] fitness) {
+        SplittableRandom rng = new SplittableRandom(3);
+        strategy.prepare(fitness, fitness.length);
+        int[] out = new int[BATCH];
+        double[] frequencies = new double[fitness.length];
+        for (int d = 0; d < DRAWS; d += BATCH) {
+            strategy.select(out, BATCH, rng);
+            for (int i : out) frequencies[i] += 1.0 / DRAWS;
+        }
+        return frequencies;
+    }
+
+    private static void assertProportional(SelectionStrategy strategy) {
+        double total = 0;
+        for (double f : FITNESS) total += f;
+        double[] frequencies = frequencies(strategy, FITNESS);
+        for (int i = 0; i < FITNESS.length; i++) {
+            assertEquals(FITNESS[i] / total, frequencies[i], TOLERANCE, strategy.getClass().getSimpleName() + " " + i);
+        }
+        assertEquals(0, frequencies[4], strategy.getClass().getSimpleName() + " drew a zero-fitness parent");
+    }
+
+    private static void assertUniformWhenAllZero(SelectionStrategy strategy) {
+        double[] frequencies = frequencies(strategy, new double[FITNESS.length]);
+        for (double frequency : frequencies) {
+            assertEquals(1.0 / FITNESS.length, frequency, TOLERANCE, strategy.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void rouletteIsFitnessProportionate() {
+        assertProportional(SelectionStrategy.roulette());
+        assertUniformWhenAllZero(SelectionStrategy.roulette());
+    }
+
+    @Test
+    void aliasIsFitnessProportionate() {
+        assertProportional(SelectionStrategy.alias());
+        assertUniformWhenAllZero(SelectionStrategy.alias());
+    }
+
+    @Test
+    void stochasticUniversalIsFitnessProportionate() {
+        assertProportional(SelectionStrategy.stochasticUniversal());
+        assertUniformWhenAllZero(SelectionStrategy.stochasticUniversal());
+    }
+
+    // With distinct fitnesses, the r-th worst of n wins a k-tournament with probability
+    // ((r + 1)^k - r^k) / n^k
+    @Test
+    void tournamentFollowsRank() {
+        int n = FITNESS.length;
+        int[] rank = {1, 2, 3, 4, 0, 5};
+        for (int k : new int[] {1, 2, 3}) {
+            double[] frequencies = frequencies(SelectionStrategy.tournament(k), FITNESS);
+            for (int i = 0; i < n; i++) {
+                double expected = (Math.pow(rank[i] + 1, k) - Math.pow(rank[i], k)) / Math.pow(n, k);
+                assertEquals(expected, frequencies[i], TOLERANCE, "k=" + k + ", " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A seeded swarm, with or without surrogate screening, must not depend on how many workers move
+// its partitions, and a resumed swarm must finish exactly like the uninterrupted one
+class SwarmEngineTest {
+
+    private static final int DIMENSIONS = 5;
+    private static final int PARTICLES = 300; // Several partitions
+
+    @TempDir
+    Path dir;
+
+    private static SwarmEngine engine(SwarmEngine.Topology topology, int iterations) {
+        return new SwarmEngine(DIMENSIONS, PARTICLES, 42)
+                .objective(Objective.rastrigin())
+                .topology(topology)
+                .maxIterations(iterations)
+                .stagnation(20, 1e-9, 0.2, 3)
+                .telemetry(Telemetry.off());
+    }
+
+    private static void assertSameRun(SwarmEngine expected, SwarmEngine actual, String label) {
+        assertArrayEquals(expected.bestPosition(), actual.bestPosition(), label);
+        assertEquals(expected.bestFitness(), actual.bestFitness(), label);
+        assertEquals(expected.evaluations(), actual.evaluations(), label);
+        assertEquals(expected.iteration(), actual.iteration(), label);
+    }
+
+    private static void checkWorkerCounts(boolean screened) {
+        for (SwarmEngine.Topology topology : SwarmEngine.Topology.values()) {
+            SwarmEngine sequential = engine(topology, 120).parallel(null);
+            if (screened) sequential.surrogate(Surrogate.rbf(8));
+            sequential.run();
+            for (int workers : new int[] {1, 3, 8}) {
+                ForkJoinPool pool = new ForkJoinPool(workers);
+                try {
+                    SwarmEngine swarm = engine(topology, 120).parallel(pool);
+                    if (screened) swarm.surrogate(Surrogate.rbf(8));
+                    swarm.run();
+                    assertSameRun(sequential, swarm, topology + ", " + workers + " workers");
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    @Test
+    void resultDoesNotDependOnWorkerCount() {
+        checkWorkerCounts(false);
+    }
+
+    @Test
+    void screenedResultDoesNotDependOnWorkerCount() {
+        checkWorkerCounts(true);
+    }
+
+    @Test
+    void resumedRunMatchesUninterruptedRun() {
+        for (SwarmEngine.Topology topology : SwarmEngine.Topology.values()) {
+            SwarmEngine uninterrupted = engine(topology, 100);
+            uninterrupted.run();
+
+            Path file = dir.resolve(topology + ".ckpt");
+            engine(topology, 50).checkpoint(file, 50).run();
+            SwarmEngine resumed = engine(topology, 100).resume(file);
+            resumed.run();
+            assertSameRun(uninterrupted, resumed, topology.toString());
+        }
+    }
+}
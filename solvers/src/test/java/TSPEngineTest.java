@@ -0,0 +1,44 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A TSP run resumed from a checkpoint must finish exactly like the uninterrupted run
+class TSPEngineTest {
+
+    @TempDir
+    Path dir;
+
+    private static double[][] cities(int n) {
+        SplittableRandom rng = new SplittableRandom(3);
+        double[][] cities = new double[n][2];
+        for (double[] city : cities) {
+            city[0] = rng.nextDouble(1000);
+            city[1] = rng.nextDouble(1000);
+        }
+        return cities;
+    }
+
+    private static TSPEngine engine(double[][] cities) {
+        return new TSPEngine(DistanceProvider.forCities(cities), 42)
+                .localSearch(CandidateLists.build(cities, 8), 50, 0.2);
+    }
+
+    @Test
+    void resumedRunMatchesUninterruptedRun() {
+        double[][] cities = cities(80);
+        TSPEngine uninterrupted = engine(cities);
+        int[] expected = uninterrupted.run(30, 60, 10, 0.5, Integer.MAX_VALUE);
+
+        Path file = dir.resolve("tsp.ckpt");
+        engine(cities).checkpoint(file, 30).run(30, 30, 10, 0.5, Integer.MAX_VALUE);
+        TSPEngine resumed = engine(cities).resume(file);
+        assertArrayEquals(expected, resumed.run(30, 60, 10, 0.5, Integer.MAX_VALUE));
+        assertEquals(uninterrupted.bestLength(), resumed.bestLength());
+        assertEquals(uninterrupted.generation(), resumed.generation());
+    }
+}
@@ -0,0 +1,42 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// The Vector API kernel must give bit-identical results to the scalar loop, so a swarm does not
+// depend on which one VelocityKernel.best() picked
+class VelocityKernelTest {
+
+    private static double[] random(int length, SplittableRandom rng) {
+        double[] a = new double[length];
+        for (int i = 0; i < length; i++) a[i] = rng.nextDouble(-100, 100);
+        return a;
+    }
+
+    @Test
+    void vectorKernelMatchesScalarKernel() {
+        VelocityKernel vector = VelocityKernel.best();
+        assertInstanceOf(VectorVelocityKernel.class, vector, "jdk.incubator.vector is not on the test module path");
+        VelocityKernel scalar = VelocityKernel.scalar();
+        SplittableRandom rng = new SplittableRandom(43);
+        for (int dims = 1; dims <= 37; dims++) {
+            int offset = 3; // Unaligned particle in the flat arrays
+            int length = offset + dims + 5;
+            double[] position = random(length, rng);
+            double[] velocity = random(length, rng);
+            double[] pbest = random(length, rng);
+            double[] social = random(length, rng);
+            double[] r1 = random(dims, rng);
+            double[] r2 = random(dims, rng);
+            double[] vectorPosition = position.clone();
+            double[] vectorVelocity = velocity.clone();
+            double w = rng.nextDouble(), c1 = rng.nextDouble(2), c2 = rng.nextDouble(2);
+            scalar.update(position, velocity, pbest, offset, social, 1, r1, r2, dims, w, c1, c2);
+            vector.update(vectorPosition, vectorVelocity, pbest, offset, social, 1, r1, r2, dims, w, c1, c2);
+            assertArrayEquals(velocity, vectorVelocity, "velocity, " + dims + " dimensions");
+            assertArrayEquals(position, vectorPosition, "position, " + dims + " dimensions");
+        }
+    }
+}